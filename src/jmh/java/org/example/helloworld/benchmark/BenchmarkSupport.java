@@ -0,0 +1,51 @@
+package org.example.helloworld.benchmark;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.helloworld.audit.AuditLog;
+import org.example.helloworld.config.JacksonConfig;
+import org.example.helloworld.config.LocalDateTimeConfig;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+/**
+ * 不启动 Spring 上下文的基准测试共用对象
+ *
+ * 按应用中的配置类手动组装，与运行时使用的配置保持一致
+ */
+final class BenchmarkSupport {
+
+  private BenchmarkSupport() {
+  }
+
+  /**
+   * 与应用相同配置的 ObjectMapper（LocalDateTimeConfig + JacksonConfig）
+   *
+   * @return ObjectMapper
+   */
+  static ObjectMapper objectMapper() {
+    Jackson2ObjectMapperBuilder builder = Jackson2ObjectMapperBuilder.json();
+    new LocalDateTimeConfig().jackson2ObjectMapperBuilderCustomizer().customize(builder);
+    return new JacksonConfig().objectMapper(builder);
+  }
+
+  /**
+   * 启用的 AuditLog（默认配置），AUDIT logger 关闭输出，只测量请求线程上的开销
+   *
+   * @return AuditLog
+   */
+  static AuditLog auditLog() {
+    ((Logger) LoggerFactory.getLogger("AUDIT")).setLevel(Level.OFF);
+    AuditLog auditLog = new AuditLog();
+    ReflectionTestUtils.setField(auditLog, "enabled", true);
+    ReflectionTestUtils.setField(auditLog, "bufferSize", 8192);
+    ReflectionTestUtils.setField(auditLog, "flushIntervalMillis", 50L);
+    ReflectionTestUtils.setField(auditLog, "sampleRate", 1.0);
+    ReflectionTestUtils.setField(auditLog, "meterRegistry", new SimpleMeterRegistry());
+    auditLog.start();
+    return auditLog;
+  }
+}
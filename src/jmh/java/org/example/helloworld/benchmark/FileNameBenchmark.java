@@ -0,0 +1,51 @@
+package org.example.helloworld.benchmark;
+
+import org.example.helloworld.service.impl.FileServiceImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * FileServiceImpl 对象名生成基准测试（uploads/yyyy/MM/dd/UUID.ext）
+ *
+ * buildObjectName 是私有方法，通过 MethodHandle 调用；4 线程并发，覆盖 UUID 生成的竞争
+ *
+ * 运行：mvn -Pbenchmark test-compile exec:exec -Djmh.args="FileNameBenchmark"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(4)
+public class FileNameBenchmark {
+
+  private final FileServiceImpl fileService = new FileServiceImpl();
+
+  private MethodHandle buildObjectName;
+
+  @Setup
+  public void setup() throws Exception {
+    buildObjectName = MethodHandles.privateLookupIn(FileServiceImpl.class, MethodHandles.lookup())
+        .findVirtual(FileServiceImpl.class, "buildObjectName", MethodType.methodType(String.class, String.class));
+  }
+
+  @Benchmark
+  public String buildObjectName() throws Throwable {
+    return (String) buildObjectName.invokeExact(fileService, "产品封面图.final.jpg");
+  }
+}
@@ -0,0 +1,92 @@
+package org.example.helloworld.benchmark;
+
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.example.helloworld.utils.JwtPrincipal;
+import org.example.helloworld.utils.JwtUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * LoginInterceptor Token 校验路径基准测试
+ *
+ * - generate: 登录时生成 Token
+ *
+ * 校验对比三种路径：
+ * - legacyTripleParse: 旧实现，validate + getUserId + getUsername 各新建一次 Jwts.parser() 并完整验签
+ * - singleParse: 单次验签（JwtUtil.parseToken），不使用缓存
+ * - cachedVerify: 拦截器当前路径（JwtUtil.verifyToken），同一 Token 命中缓存
+ *
+ * 运行：mvn -Pbenchmark test-compile exec:exec -Djmh.args="JwtBenchmark"
+ * 分别在 1 / 8 / 64 线程下运行（见内部子类）
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public abstract class JwtBenchmark {
+
+  /** 与 JwtUtil 使用相同的密钥（旧实现每次调用都用它新建解析器） */
+  private static final SecretKey KEY = Keys.hmacShaKeyFor(
+      "secretsecretsecretsecretsecretsecretsecret".getBytes(StandardCharsets.UTF_8));
+
+  private String token;
+
+  @Setup
+  public void setup() {
+    token = JwtUtil.generateToken(1, "admin");
+  }
+
+  @Benchmark
+  public String generate() {
+    return JwtUtil.generateToken(1, "admin");
+  }
+
+  @Benchmark
+  public void legacyTripleParse(Blackhole bh) {
+    // validateToken
+    bh.consume(Jwts.parser().verifyWith(KEY).build().parseSignedClaims(token).getPayload().getSubject() != null);
+    // getUserIdFromToken
+    bh.consume(Integer.parseInt(Jwts.parser().verifyWith(KEY).build().parseSignedClaims(token).getPayload().getSubject()));
+    // getUsernameFromToken
+    bh.consume(Jwts.parser().verifyWith(KEY).build().parseSignedClaims(token).getPayload().get("username", String.class));
+  }
+
+  @Benchmark
+  public JwtPrincipal singleParse() {
+    return JwtUtil.parseToken(token);
+  }
+
+  @Benchmark
+  public JwtPrincipal cachedVerify() {
+    return JwtUtil.verifyToken(token);
+  }
+
+  @Threads(1)
+  public static class Threads1 extends JwtBenchmark {
+  }
+
+  @Threads(8)
+  public static class Threads8 extends JwtBenchmark {
+  }
+
+  @Threads(64)
+  public static class Threads64 extends JwtBenchmark {
+  }
+}
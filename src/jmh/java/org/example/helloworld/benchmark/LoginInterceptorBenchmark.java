@@ -0,0 +1,80 @@
+package org.example.helloworld.benchmark;
+
+import org.example.helloworld.audit.AuditLog;
+import org.example.helloworld.interceptor.LoginInterceptor;
+import org.example.helloworld.utils.JwtUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * LoginInterceptor.preHandle 基准测试
+ *
+ * - validToken: Token 有效（命中验签缓存），写入请求属性后放行，请求完成后记录访问日志
+ * - invalidToken: Token 无效，写出预先序列化的错误响应并记录认证失败事件
+ *
+ * 每次调用新建 MockHttpServletResponse，结果中包含这部分固定开销
+ *
+ * 运行：mvn -Pbenchmark test-compile exec:exec -Djmh.args="LoginInterceptorBenchmark"
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LoginInterceptorBenchmark {
+
+  private AuditLog auditLog;
+
+  private LoginInterceptor interceptor;
+
+  private MockHttpServletRequest validRequest;
+
+  private MockHttpServletRequest invalidRequest;
+
+  @Setup(Level.Trial)
+  public void setup() {
+    auditLog = BenchmarkSupport.auditLog();
+    interceptor = new LoginInterceptor(auditLog, BenchmarkSupport.objectMapper());
+
+    validRequest = new MockHttpServletRequest("GET", "/project");
+    validRequest.addHeader("Authorization", "Bearer " + JwtUtil.generateToken(1, "admin"));
+
+    invalidRequest = new MockHttpServletRequest("GET", "/project");
+    invalidRequest.addHeader("Authorization", "Bearer invalid.token.value");
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() throws InterruptedException {
+    auditLog.stop();
+  }
+
+  @Benchmark
+  public boolean validToken() throws Exception {
+    MockHttpServletResponse response = new MockHttpServletResponse();
+    boolean passed = interceptor.preHandle(validRequest, response, null);
+    interceptor.afterCompletion(validRequest, response, null, null);
+    return passed;
+  }
+
+  @Benchmark
+  public int invalidToken() throws Exception {
+    MockHttpServletResponse response = new MockHttpServletResponse();
+    interceptor.preHandle(invalidRequest, response, null);
+    return response.getContentLength();
+  }
+}
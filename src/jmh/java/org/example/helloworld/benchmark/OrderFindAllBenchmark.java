@@ -0,0 +1,142 @@
+package org.example.helloworld.benchmark;
+
+import org.apache.ibatis.executor.statement.StatementHandler;
+import org.apache.ibatis.plugin.Interceptor;
+import org.apache.ibatis.plugin.Intercepts;
+import org.apache.ibatis.plugin.Invocation;
+import org.apache.ibatis.plugin.Signature;
+import org.example.helloworld.HelloworldApplication;
+import org.example.helloworld.entity.OrderEntity;
+import org.example.helloworld.service.OrderService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * /order/findAll 查询路径基准测试（N+1 回归）
+ *
+ * 使用 H2 内存库（MySQL 兼容模式）启动完整的 Spring 上下文，写入 USERS 个用户和 orders 个订单，
+ * 调用 OrderService.getAllOrdersWithUsers 并统计每次调用执行的 SQL 条数：
+ * 订单查询 1 条 + 用户 IN 查询 1 条（USERS 小于每批数量），与订单数无关。
+ * SQL 条数不等于 EXPECTED_STATEMENTS 时抛出异常，基准测试失败。
+ *
+ * 运行：mvn -Pbenchmark test-compile exec:exec -Djmh.args="OrderFindAllBenchmark"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class OrderFindAllBenchmark {
+
+  /** 用户数 */
+  private static final int USERS = 200;
+
+  /** 每次调用期望执行的 SQL 条数 */
+  private static final int EXPECTED_STATEMENTS = 2;
+
+  @Param({ "1000", "10000", "50000" })
+  private int orders;
+
+  private ConfigurableApplicationContext context;
+
+  private OrderService orderService;
+
+  private final StatementCounter statementCounter = new StatementCounter();
+
+  @Setup(Level.Trial)
+  public void setup() throws Exception {
+    context = new SpringApplicationBuilder(HelloworldApplication.class)
+        .initializers(ctx -> ctx.getBeanFactory().registerSingleton("statementCounter", statementCounter))
+        .run("--spring.datasource.url=jdbc:h2:mem:bench;MODE=MySQL;DATABASE_TO_LOWER=TRUE;NON_KEYWORDS=USER;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+            "--spring.datasource.driver-class-name=org.h2.Driver",
+            "--spring.datasource.username=sa",
+            "--spring.datasource.password=",
+            "--server.port=0",
+            "--spring.autoconfigure.exclude=org.springframework.boot.devtools.autoconfigure.DevToolsDataSourceAutoConfiguration",
+            "--mybatis-plus.configuration.log-impl=org.apache.ibatis.logging.nologging.NoLoggingImpl",
+            "--logging.level.root=WARN");
+    orderService = context.getBean(OrderService.class);
+
+    try (Connection connection = context.getBean(DataSource.class).getConnection();
+        Statement statement = connection.createStatement()) {
+      statement.execute("CREATE TABLE `user` (id INT AUTO_INCREMENT PRIMARY KEY, username VARCHAR(50), password VARCHAR(100))");
+      statement.execute("CREATE TABLE `order` (id INT AUTO_INCREMENT PRIMARY KEY, order_time DATETIME, total INT, uid INT)");
+      try (PreparedStatement insertUser = connection
+          .prepareStatement("INSERT INTO `user` (username, password) VALUES (?, ?)")) {
+        for (int i = 1; i <= USERS; i++) {
+          insertUser.setString(1, "user" + i);
+          insertUser.setString(2, "password");
+          insertUser.addBatch();
+        }
+        insertUser.executeBatch();
+      }
+      try (PreparedStatement insertOrder = connection
+          .prepareStatement("INSERT INTO `order` (order_time, total, uid) VALUES (?, ?, ?)")) {
+        Timestamp now = new Timestamp(System.currentTimeMillis());
+        for (int i = 0; i < orders; i++) {
+          insertOrder.setTimestamp(1, now);
+          insertOrder.setInt(2, i % 1000);
+          insertOrder.setInt(3, i % USERS + 1);
+          insertOrder.addBatch();
+        }
+        insertOrder.executeBatch();
+      }
+    }
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    context.close();
+  }
+
+  @Benchmark
+  public List<OrderEntity> findAll() {
+    int before = statementCounter.count.get();
+    List<OrderEntity> result = orderService.getAllOrdersWithUsers();
+    int statements = statementCounter.count.get() - before;
+    if (statements != EXPECTED_STATEMENTS) {
+      throw new IllegalStateException("getAllOrdersWithUsers 执行了 " + statements + " 条 SQL（订单数 " + orders
+          + "），期望 " + EXPECTED_STATEMENTS + " 条");
+    }
+    return result;
+  }
+
+  /**
+   * 统计执行的 SQL 条数（MyBatis 插件，拦截 StatementHandler.prepare）
+   */
+  @Intercepts(@Signature(type = StatementHandler.class, method = "prepare", args = { Connection.class,
+      Integer.class }))
+  public static class StatementCounter implements Interceptor {
+
+    private final AtomicInteger count = new AtomicInteger();
+
+    @Override
+    public Object intercept(Invocation invocation) throws Throwable {
+      count.incrementAndGet();
+      return invocation.proceed();
+    }
+  }
+}
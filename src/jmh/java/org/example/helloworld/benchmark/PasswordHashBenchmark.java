@@ -0,0 +1,62 @@
+package org.example.helloworld.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 密码哈希 cost 选择基准测试
+ *
+ * 在部署机器上运行，测出每个 cost 下单次哈希 / 校验的耗时，选择满足登录延迟要求的最大 cost，
+ * 配置到 user.password.cost（一般单次 50 ~ 300 毫秒）。
+ * 单核每秒可处理的登录数约为 1000 / 单次耗时（毫秒），乘以 user.password.hashThreads 即登录吞吐上限。
+ *
+ * 运行：mvn -Pbenchmark test-compile exec:exec -Djmh.args="PasswordHashBenchmark"
+ * 只测部分 cost：-Djmh.args="PasswordHashBenchmark -p cost=10,12"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PasswordHashBenchmark {
+
+  private static final String PASSWORD = "Passw0rd!2025";
+
+  @Param({ "8", "10", "12", "14" })
+  private int cost;
+
+  private BCryptPasswordEncoder encoder;
+
+  private String hash;
+
+  @Setup
+  public void setup() {
+    encoder = new BCryptPasswordEncoder(cost);
+    hash = encoder.encode(PASSWORD);
+  }
+
+  /** 注册：计算哈希 */
+  @Benchmark
+  public String encode() {
+    return encoder.encode(PASSWORD);
+  }
+
+  /** 登录：校验密码 */
+  @Benchmark
+  public boolean matches() {
+    return encoder.matches(PASSWORD, hash);
+  }
+}
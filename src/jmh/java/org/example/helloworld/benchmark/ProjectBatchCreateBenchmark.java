@@ -0,0 +1,142 @@
+package org.example.helloworld.benchmark;
+
+import org.example.helloworld.HelloworldApplication;
+import org.example.helloworld.dto.CreateProjectDTO;
+import org.example.helloworld.entity.ProjectEntity;
+import org.example.helloworld.service.ProjectService;
+import org.example.helloworld.vo.BatchCreateProjectItemVO;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 批量创建项目吞吐对比：逐行 createProject / 批量 createProjects
+ *
+ * 使用 H2 内存库启动完整的应用，每次操作创建 rows 个项目（表在每次操作前清空）。
+ * H2 没有网络往返，也不会像 MySQL 的 rewriteBatchedStatements 那样合并多行 INSERT，
+ * 用 RequestLatencyBenchmark.DbLatency 给每次语句准备加上 dbLatencyMillis 毫秒模拟往返：
+ * 逐行路径每行一次，批量路径每个 JDBC 批次（chunkSize 行）一次，与 MySQL 开启 rewriteBatchedStatements 后的往返次数一致。
+ *
+ * 运行：mvn -Pbenchmark test-compile exec:exec -Djmh.args="ProjectBatchCreateBenchmark"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 10)
+@Fork(1)
+public class ProjectBatchCreateBenchmark {
+
+  /** 每次操作创建的项目数 */
+  @Param({ "1000" })
+  private int rows;
+
+  /** 批量路径每批行数（project.batch.chunkSize） */
+  @Param({ "500" })
+  private int chunkSize;
+
+  /** 每条语句模拟的数据库往返延迟（毫秒） */
+  @Param({ "0", "1" })
+  private int dbLatencyMillis;
+
+  private ConfigurableApplicationContext context;
+
+  private ProjectService projectService;
+
+  private DataSource dataSource;
+
+  private List<CreateProjectDTO> dtos;
+
+  @Setup(Level.Trial)
+  public void setup() throws SQLException {
+    RequestLatencyBenchmark.DbLatency dbLatency = new RequestLatencyBenchmark.DbLatency(dbLatencyMillis);
+    context = new SpringApplicationBuilder(HelloworldApplication.class)
+        .initializers(ctx -> ctx.getBeanFactory().registerSingleton("dbLatency", dbLatency))
+        .run("--spring.datasource.url=jdbc:h2:mem:batch;MODE=MySQL;DATABASE_TO_LOWER=TRUE;NON_KEYWORDS=USER;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+            "--spring.datasource.driver-class-name=org.h2.Driver",
+            "--spring.datasource.username=sa",
+            "--spring.datasource.password=",
+            "--project.batch.chunkSize=" + chunkSize,
+            "--project.batch.maxSize=" + rows,
+            "--server.port=0",
+            "--spring.autoconfigure.exclude=org.springframework.boot.devtools.autoconfigure.DevToolsDataSourceAutoConfiguration",
+            "--mybatis-plus.configuration.log-impl=org.apache.ibatis.logging.nologging.NoLoggingImpl",
+            "--logging.level.root=WARN");
+    projectService = context.getBean(ProjectService.class);
+    dataSource = context.getBean(DataSource.class);
+
+    try (Connection connection = dataSource.getConnection();
+        Statement statement = connection.createStatement()) {
+      statement.execute("CREATE TABLE `project` (id INT AUTO_INCREMENT PRIMARY KEY, name VARCHAR(100) NOT NULL, "
+          + "status VARCHAR(20) NOT NULL, cover VARCHAR(255), create_time DATETIME)");
+    }
+
+    dtos = new ArrayList<>(rows);
+    for (int i = 0; i < rows; i++) {
+      CreateProjectDTO dto = new CreateProjectDTO();
+      dto.setName("导入项目" + i);
+      dto.setStatus("进行中");
+      dto.setCover("https://example.com/cover/" + i + ".jpg");
+      dtos.add(dto);
+    }
+    dbLatency.enabled = true;
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    context.close();
+  }
+
+  @Setup(Level.Invocation)
+  public void truncate() throws SQLException {
+    try (Connection connection = dataSource.getConnection();
+        Statement statement = connection.createStatement()) {
+      statement.execute("TRUNCATE TABLE `project`");
+    }
+  }
+
+  /** 逐行调用 createProject（原来导入任务的方式，每行一次 INSERT） */
+  @Benchmark
+  public int perRow() {
+    int created = 0;
+    for (CreateProjectDTO dto : dtos) {
+      ProjectEntity project = projectService.createProject(dto);
+      created += project.getId() != null ? 1 : 0;
+    }
+    return created;
+  }
+
+  /** createProjects：逐行校验 + 分批 JDBC 批量插入 */
+  @Benchmark
+  public int batch() {
+    List<BatchCreateProjectItemVO> results = projectService.createProjects(dtos);
+    int created = 0;
+    for (BatchCreateProjectItemVO result : results) {
+      if (!result.getSuccess() || result.getId() == null) {
+        throw new IllegalStateException("批量创建失败：" + result);
+      }
+      created++;
+    }
+    return created;
+  }
+}
@@ -0,0 +1,82 @@
+package org.example.helloworld.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.example.helloworld.entity.ProjectEntity;
+import org.example.helloworld.utils.Result;
+import org.example.helloworld.vo.PageVO;
+import org.example.helloworld.vo.ProjectVO;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 项目列表响应基准测试：ProjectEntity -> ProjectVO 转换 + PageVO 序列化
+ *
+ * 使用与应用相同配置的 ObjectMapper（见 BenchmarkSupport），模拟 GET /project 一页数据的响应序列化
+ *
+ * 运行：mvn -Pbenchmark test-compile exec:exec -Djmh.args="ProjectSerializationBenchmark"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ProjectSerializationBenchmark {
+
+  /** 每页条数 */
+  @Param({ "10", "100" })
+  private int pageSize;
+
+  private ObjectMapper objectMapper;
+
+  private List<ProjectEntity> entities;
+
+  @Setup
+  public void setup() {
+    objectMapper = BenchmarkSupport.objectMapper();
+    entities = new ArrayList<>(pageSize);
+    LocalDateTime now = LocalDateTime.now();
+    for (int i = 0; i < pageSize; i++) {
+      ProjectEntity entity = new ProjectEntity();
+      entity.setId(i + 1);
+      entity.setName("电商平台项目-" + i);
+      entity.setStatus(i % 2 == 0 ? "进行中" : "已完成");
+      entity.setCover("https://example.com/uploads/2025/11/03/cover-" + i + ".jpg");
+      entity.setCreateTime(now.minusMinutes(i));
+      entities.add(entity);
+    }
+  }
+
+  /** 只做 Entity -> VO 转换 */
+  @Benchmark
+  public List<ProjectVO> fromEntity() {
+    return entities.stream().map(ProjectVO::fromEntity).toList();
+  }
+
+  /** 转换并序列化完整响应 Result<PageVO<ProjectVO>> */
+  @Benchmark
+  public byte[] serializePage() throws Exception {
+    PageVO<ProjectVO> page = PageVO.<ProjectVO>builder()
+        .total(1000L)
+        .pages(1000L / pageSize)
+        .current(1L)
+        .size((long) pageSize)
+        .records(entities.stream().map(ProjectVO::fromEntity).toList())
+        .build();
+    return objectMapper.writeValueAsBytes(Result.ok(page));
+  }
+}
@@ -0,0 +1,177 @@
+package org.example.helloworld.benchmark;
+
+import org.apache.ibatis.executor.statement.StatementHandler;
+import org.apache.ibatis.plugin.Interceptor;
+import org.apache.ibatis.plugin.Intercepts;
+import org.apache.ibatis.plugin.Invocation;
+import org.apache.ibatis.plugin.Signature;
+import org.example.helloworld.HelloworldApplication;
+import org.example.helloworld.utils.JwtUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import javax.sql.DataSource;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 平台线程 / 虚拟线程请求延迟对比（压测）
+ *
+ * 使用 H2 内存库启动完整的应用，CLIENTS 个并发客户端持续请求 GET /order/page，
+ * 每条 SQL 额外阻塞 dbLatencyMillis 毫秒，模拟访问远程 MySQL 的网络往返。
+ * - platform: Tomcat 平台线程池（server.tomcat.threads.max=tomcatThreads），并发超过线程数时请求排队
+ * - virtual: spring.threads.virtual.enabled=true，每个请求一个虚拟线程
+ *
+ * SampleTime 模式输出延迟分布，对比两种模式的 p0.99。
+ *
+ * 运行：mvn -Pbenchmark test-compile exec:exec -Djmh.args="RequestLatencyBenchmark"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 10)
+@Fork(1)
+@Threads(RequestLatencyBenchmark.CLIENTS)
+public class RequestLatencyBenchmark {
+
+  /** 并发客户端数 */
+  static final int CLIENTS = 200;
+
+  /** 用户数 */
+  private static final int USERS = 200;
+
+  /** 订单数 */
+  private static final int ORDERS = 10000;
+
+  @Param({ "platform", "virtual" })
+  private String threadMode;
+
+  /** 平台线程模式下 Tomcat 最大线程数 */
+  @Param({ "50" })
+  private int tomcatThreads;
+
+  /** 每条 SQL 模拟的数据库往返延迟（毫秒） */
+  @Param({ "5" })
+  private int dbLatencyMillis;
+
+  private ConfigurableApplicationContext context;
+
+  private HttpClient httpClient;
+
+  private HttpRequest request;
+
+  @Setup(Level.Trial)
+  public void setup() throws Exception {
+    DbLatency dbLatency = new DbLatency(dbLatencyMillis);
+    context = new SpringApplicationBuilder(HelloworldApplication.class)
+        .initializers(ctx -> ctx.getBeanFactory().registerSingleton("dbLatency", dbLatency))
+        .run("--spring.datasource.url=jdbc:h2:mem:latency;MODE=MySQL;DATABASE_TO_LOWER=TRUE;NON_KEYWORDS=USER;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+            "--spring.datasource.driver-class-name=org.h2.Driver",
+            "--spring.datasource.username=sa",
+            "--spring.datasource.password=",
+            // 连接池不作为瓶颈，只比较请求线程模型
+            "--spring.datasource.druid.max-active=" + CLIENTS,
+            "--spring.threads.virtual.enabled=" + "virtual".equals(threadMode),
+            "--server.tomcat.threads.max=" + tomcatThreads,
+            "--server.port=0",
+            "--spring.autoconfigure.exclude=org.springframework.boot.devtools.autoconfigure.DevToolsDataSourceAutoConfiguration",
+            "--mybatis-plus.configuration.log-impl=org.apache.ibatis.logging.nologging.NoLoggingImpl",
+            "--logging.level.root=WARN");
+
+    try (Connection connection = context.getBean(DataSource.class).getConnection();
+        Statement statement = connection.createStatement()) {
+      statement.execute("CREATE TABLE `user` (id INT AUTO_INCREMENT PRIMARY KEY, username VARCHAR(50), password VARCHAR(100))");
+      statement.execute("CREATE TABLE `order` (id INT AUTO_INCREMENT PRIMARY KEY, order_time DATETIME, total INT, uid INT)");
+      try (PreparedStatement insertUser = connection
+          .prepareStatement("INSERT INTO `user` (username, password) VALUES (?, ?)")) {
+        for (int i = 1; i <= USERS; i++) {
+          insertUser.setString(1, "user" + i);
+          insertUser.setString(2, "password");
+          insertUser.addBatch();
+        }
+        insertUser.executeBatch();
+      }
+      try (PreparedStatement insertOrder = connection
+          .prepareStatement("INSERT INTO `order` (order_time, total, uid) VALUES (?, ?, ?)")) {
+        Timestamp now = new Timestamp(System.currentTimeMillis());
+        for (int i = 0; i < ORDERS; i++) {
+          insertOrder.setTimestamp(1, now);
+          insertOrder.setInt(2, i % 1000);
+          insertOrder.setInt(3, i % USERS + 1);
+          insertOrder.addBatch();
+        }
+        insertOrder.executeBatch();
+      }
+    }
+    dbLatency.enabled = true;
+
+    int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+    httpClient = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+    request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/order/page?pageNum=1&pageSize=20"))
+        .header("Authorization", "Bearer " + JwtUtil.generateToken(1, "user1"))
+        .GET()
+        .build();
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    httpClient.close();
+    context.close();
+  }
+
+  @Benchmark
+  public int orderPage() throws Exception {
+    HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+    if (response.statusCode() != 200 || !response.body().contains("\"records\"")) {
+      throw new IllegalStateException("请求失败：" + response.statusCode() + " " + response.body());
+    }
+    return response.body().length();
+  }
+
+  /**
+   * 模拟数据库往返延迟（MyBatis 插件，每条 SQL 执行前阻塞固定时长）
+   */
+  @Intercepts(@Signature(type = StatementHandler.class, method = "prepare", args = { Connection.class,
+      Integer.class }))
+  public static class DbLatency implements Interceptor {
+
+    private final long latencyMillis;
+
+    volatile boolean enabled;
+
+    DbLatency(long latencyMillis) {
+      this.latencyMillis = latencyMillis;
+    }
+
+    @Override
+    public Object intercept(Invocation invocation) throws Throwable {
+      if (enabled) {
+        Thread.sleep(latencyMillis);
+      }
+      return invocation.proceed();
+    }
+  }
+}
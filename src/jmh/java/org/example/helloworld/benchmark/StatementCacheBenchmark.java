@@ -0,0 +1,269 @@
+package org.example.helloworld.benchmark;
+
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.sun.management.OperatingSystemMXBean;
+import org.example.helloworld.HelloworldApplication;
+import org.example.helloworld.entity.ProjectEntity;
+import org.example.helloworld.entity.UserEntity;
+import org.example.helloworld.mapper.ProjectMapper;
+import org.example.helloworld.mapper.UserMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.management.ManagementFactory;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * PreparedStatement 缓存模式对比（需要真实的 MySQL）
+ *
+ * 启动完整的应用，在一个事务中执行 ProjectServiceImpl / UserServiceImpl 中常见的 Wrapper 查询
+ * （按状态分页查项目、按用户名查用户），对比 datasource.statementCache.mode 和 MyBatis 执行器的组合：
+ * - mode: none / client / server（见 StatementCacheMode）
+ * - executor: simple / reuse（ReuseExecutor 在同一个事务内复用同一 SQL 的 Statement）
+ *
+ * 除 JMH 的耗时外，每轮迭代结束时输出每次操作的：
+ * - appCpuUs: 应用进程 CPU 时间（微秒）
+ * - prepare / execute / select: MySQL 的 Com_stmt_prepare、Com_stmt_execute、Com_select 增量
+ * - dbCpuUs: performance_schema.events_statements_summary_by_digest 中本库语句的 SUM_CPU_TIME 增量
+ *   （MySQL 8.0.28+ 且开启 performance_schema，否则为 -1）
+ * 数据库单独使用时 GLOBAL STATUS 的增量才准确。
+ *
+ * 表不存在时自动创建并写入测试数据（按 QUICK_START 中的表结构）。
+ *
+ * 运行：
+ * mvn -Pbenchmark test-compile exec:exec -Djmh.args="StatementCacheBenchmark -jvmArgsAppend
+ * -Dbench.mysql.url=jdbc:mysql://localhost:3306/benchdb -jvmArgsAppend -Dbench.mysql.username=root
+ * -jvmArgsAppend -Dbench.mysql.password=123456"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 10)
+@Fork(1)
+public class StatementCacheBenchmark {
+
+  /** 用户数 */
+  private static final int USERS = 1000;
+
+  /** 项目数 */
+  private static final int PROJECTS = 10000;
+
+  private static final String[] STATUSES = { "进行中", "已完成", "已暂停" };
+
+  @Param({ "none", "client", "server" })
+  private String mode;
+
+  @Param({ "simple", "reuse" })
+  private String executor;
+
+  private String url;
+
+  private String username;
+
+  private String password;
+
+  private ConfigurableApplicationContext context;
+
+  private ProjectMapper projectMapper;
+
+  private UserMapper userMapper;
+
+  private TransactionTemplate transactionTemplate;
+
+  /** 统计用的独立连接，不经过连接池 */
+  private Connection statusConnection;
+
+  private final OperatingSystemMXBean os = (OperatingSystemMXBean) ManagementFactory.getOperatingSystemMXBean();
+
+  private final LongAdder operations = new LongAdder();
+
+  private long startCpuNanos;
+
+  private Map<String, Long> startStatus;
+
+  private long startDbCpuPicos;
+
+  @Setup(Level.Trial)
+  public void setup() throws SQLException {
+    url = System.getProperty("bench.mysql.url");
+    username = System.getProperty("bench.mysql.username", "root");
+    password = System.getProperty("bench.mysql.password", "");
+    if (url == null || !url.startsWith("jdbc:mysql:")) {
+      throw new IllegalStateException("StatementCacheBenchmark 需要 MySQL，请通过 -Dbench.mysql.url=jdbc:mysql://... 指定数据库");
+    }
+
+    statusConnection = DriverManager.getConnection(url, username, password);
+    seed();
+
+    context = new SpringApplicationBuilder(HelloworldApplication.class)
+        .run("--spring.datasource.url=" + url,
+            "--spring.datasource.username=" + username,
+            "--spring.datasource.password=" + password,
+            "--datasource.statementCache.mode=" + mode,
+            "--mybatis-plus.configuration.default-executor-type=" + executor,
+            "--server.port=0",
+            "--spring.autoconfigure.exclude=org.springframework.boot.devtools.autoconfigure.DevToolsDataSourceAutoConfiguration",
+            "--mybatis-plus.configuration.log-impl=org.apache.ibatis.logging.nologging.NoLoggingImpl",
+            "--logging.level.root=WARN");
+    projectMapper = context.getBean(ProjectMapper.class);
+    userMapper = context.getBean(UserMapper.class);
+    transactionTemplate = context.getBean(TransactionTemplate.class);
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() throws SQLException {
+    context.close();
+    statusConnection.close();
+  }
+
+  @Setup(Level.Iteration)
+  public void startIteration() throws SQLException {
+    operations.reset();
+    startCpuNanos = os.getProcessCpuTime();
+    startStatus = globalStatus();
+    startDbCpuPicos = digestCpuPicos();
+  }
+
+  @TearDown(Level.Iteration)
+  public void endIteration() throws SQLException {
+    long ops = Math.max(operations.sum(), 1);
+    long appCpuNanos = os.getProcessCpuTime() - startCpuNanos;
+    Map<String, Long> status = globalStatus();
+    long dbCpuPicos = digestCpuPicos();
+    System.out.printf("%n[mode=%s executor=%s] ops=%d appCpuUs/op=%.1f prepare/op=%.2f execute/op=%.2f select/op=%.2f dbCpuUs/op=%s%n",
+        mode, executor, ops,
+        appCpuNanos / 1000.0 / ops,
+        delta(status, "Com_stmt_prepare") / (double) ops,
+        delta(status, "Com_stmt_execute") / (double) ops,
+        delta(status, "Com_select") / (double) ops,
+        dbCpuPicos < 0 || startDbCpuPicos < 0 ? "-1"
+            : String.format("%.1f", (dbCpuPicos - startDbCpuPicos) / 1_000_000.0 / ops));
+  }
+
+  /**
+   * 一次操作：同一事务内按状态分页查项目、按用户名查用户、查项目总数
+   */
+  @Benchmark
+  public int wrapperQueries() {
+    ThreadLocalRandom random = ThreadLocalRandom.current();
+    String status = STATUSES[random.nextInt(STATUSES.length)];
+    String name = "bench_user_" + (random.nextInt(USERS) + 1);
+    Integer rows = transactionTemplate.execute(tx -> {
+      List<ProjectEntity> projects = projectMapper.selectList(new LambdaQueryWrapper<ProjectEntity>()
+          .eq(ProjectEntity::getStatus, status)
+          .orderByDesc(ProjectEntity::getCreateTime)
+          .last("LIMIT 20"));
+      UserEntity user = userMapper.selectOne(new LambdaQueryWrapper<UserEntity>()
+          .eq(UserEntity::getUsername, name));
+      Long count = projectMapper.selectCount(new LambdaQueryWrapper<ProjectEntity>()
+          .eq(ProjectEntity::getStatus, status));
+      return projects.size() + (user != null ? 1 : 0) + count.intValue();
+    });
+    operations.increment();
+    return rows;
+  }
+
+  /**
+   * 表不存在或为空时写入测试数据
+   */
+  private void seed() throws SQLException {
+    try (Statement statement = statusConnection.createStatement()) {
+      statement.execute("CREATE TABLE IF NOT EXISTS `user` (id INT NOT NULL AUTO_INCREMENT, username VARCHAR(50) NOT NULL, "
+          + "password VARCHAR(100) NOT NULL, PRIMARY KEY (id), UNIQUE KEY uk_username (username)) DEFAULT CHARSET=utf8mb4");
+      statement.execute("CREATE TABLE IF NOT EXISTS `project` (id INT NOT NULL AUTO_INCREMENT, name VARCHAR(100) NOT NULL, "
+          + "status VARCHAR(20) NOT NULL, cover VARCHAR(255) DEFAULT NULL, create_time DATETIME DEFAULT NULL, "
+          + "PRIMARY KEY (id), KEY idx_status (status), KEY idx_create_time_id (create_time, id)) DEFAULT CHARSET=utf8mb4");
+    }
+    statusConnection.setAutoCommit(false);
+    try (PreparedStatement insertUser = statusConnection
+        .prepareStatement("INSERT IGNORE INTO `user` (username, password) VALUES (?, ?)")) {
+      for (int i = 1; i <= USERS; i++) {
+        insertUser.setString(1, "bench_user_" + i);
+        insertUser.setString(2, "password");
+        insertUser.addBatch();
+      }
+      insertUser.executeBatch();
+    }
+    if (count("project") < PROJECTS) {
+      try (PreparedStatement insertProject = statusConnection
+          .prepareStatement("INSERT INTO `project` (name, status, create_time) VALUES (?, ?, NOW() - INTERVAL ? SECOND)")) {
+        for (int i = 0; i < PROJECTS; i++) {
+          insertProject.setString(1, "项目" + i);
+          insertProject.setString(2, STATUSES[i % STATUSES.length]);
+          insertProject.setInt(3, i);
+          insertProject.addBatch();
+        }
+        insertProject.executeBatch();
+      }
+    }
+    statusConnection.commit();
+    statusConnection.setAutoCommit(true);
+  }
+
+  private long count(String table) throws SQLException {
+    try (Statement statement = statusConnection.createStatement();
+        ResultSet resultSet = statement.executeQuery("SELECT COUNT(*) FROM `" + table + "`")) {
+      resultSet.next();
+      return resultSet.getLong(1);
+    }
+  }
+
+  /**
+   * 语句计数（SHOW GLOBAL STATUS）
+   */
+  private Map<String, Long> globalStatus() throws SQLException {
+    Map<String, Long> status = new HashMap<>();
+    try (Statement statement = statusConnection.createStatement();
+        ResultSet resultSet = statement.executeQuery(
+            "SHOW GLOBAL STATUS WHERE Variable_name IN ('Com_stmt_prepare', 'Com_stmt_execute', 'Com_select')")) {
+      while (resultSet.next()) {
+        status.put(resultSet.getString(1), resultSet.getLong(2));
+      }
+    }
+    return status;
+  }
+
+  private long delta(Map<String, Long> status, String name) {
+    return status.getOrDefault(name, 0L) - startStatus.getOrDefault(name, 0L);
+  }
+
+  /**
+   * 本库语句的累计 CPU 时间（皮秒），不可用时返回 -1
+   */
+  private long digestCpuPicos() {
+    try (Statement statement = statusConnection.createStatement();
+        ResultSet resultSet = statement.executeQuery("SELECT COALESCE(SUM(SUM_CPU_TIME), 0) "
+            + "FROM performance_schema.events_statements_summary_by_digest WHERE SCHEMA_NAME = DATABASE()")) {
+      resultSet.next();
+      return resultSet.getLong(1);
+    } catch (SQLException e) {
+      return -1;
+    }
+  }
+}
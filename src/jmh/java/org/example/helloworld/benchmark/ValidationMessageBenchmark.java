@@ -0,0 +1,72 @@
+package org.example.helloworld.benchmark;
+
+import org.example.helloworld.dto.CreateProjectDTO;
+import org.example.helloworld.exception.GlobalExceptionHandler;
+import org.example.helloworld.utils.Result;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.core.MethodParameter;
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.validation.BindException;
+import org.springframework.web.bind.MethodArgumentNotValidException;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * GlobalExceptionHandler 参数校验错误信息拼接基准测试
+ *
+ * 构造与 POST /project 校验失败相同的字段错误（name、status 为空），
+ * 测量 @Valid（MethodArgumentNotValidException）和 @ModelAttribute 绑定（BindException）两条路径
+ *
+ * 运行：mvn -Pbenchmark test-compile exec:exec -Djmh.args="ValidationMessageBenchmark"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ValidationMessageBenchmark {
+
+  private final GlobalExceptionHandler handler = new GlobalExceptionHandler();
+
+  private MethodArgumentNotValidException methodArgumentNotValidException;
+
+  private BindException bindException;
+
+  @Setup
+  public void setup() throws Exception {
+    BeanPropertyBindingResult bindingResult = new BeanPropertyBindingResult(new CreateProjectDTO(),
+        "createProjectDTO");
+    bindingResult.rejectValue("name", "NotBlank", "项目名称不能为空");
+    bindingResult.rejectValue("status", "NotBlank", "项目状态不能为空");
+
+    MethodParameter parameter = new MethodParameter(
+        ValidationMessageBenchmark.class.getDeclaredMethod("createProject", CreateProjectDTO.class), 0);
+    methodArgumentNotValidException = new MethodArgumentNotValidException(parameter, bindingResult);
+    bindException = new BindException(bindingResult);
+  }
+
+  @Benchmark
+  public Result<Void> methodArgumentNotValid() {
+    return handler.handleMethodArgumentNotValidException(methodArgumentNotValidException);
+  }
+
+  @Benchmark
+  public Result<Void> bind() {
+    return handler.handleBindException(bindException);
+  }
+
+  /** 只用于构造 MethodParameter */
+  @SuppressWarnings("unused")
+  private void createProject(CreateProjectDTO dto) {
+  }
+}
@@ -0,0 +1,47 @@
+package org.example.helloworld.audit;
+
+/**
+ * 环形缓冲区中的事件槽
+ *
+ * 槽在启动时一次性分配，之后反复复用：请求线程只填写字段（拷贝引用和基本类型），
+ * 格式化等工作都在后台写日志线程中完成。
+ * sequence 等于槽当前承载的事件序号时表示已发布，可以被写日志线程读取。
+ */
+final class AuditEvent {
+
+    /** 已发布的事件序号（release / acquire 语义读写，见 AuditLog） */
+    volatile long sequence = -1;
+
+    AuditEventType type;
+
+    long timestampMillis;
+
+    String method;
+
+    String uri;
+
+    Integer userId;
+
+    String username;
+
+    String remoteAddr;
+
+    int status;
+
+    long durationMicros;
+
+    String detail;
+
+    /**
+     * 清空引用字段，避免槽持有已完成请求的对象
+     */
+    void clear() {
+        type = null;
+        method = null;
+        uri = null;
+        userId = null;
+        username = null;
+        remoteAddr = null;
+        detail = null;
+    }
+}
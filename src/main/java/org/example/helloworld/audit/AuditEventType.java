@@ -0,0 +1,19 @@
+package org.example.helloworld.audit;
+
+/**
+ * 访问 / 审计事件类型
+ */
+public enum AuditEventType {
+
+    /** 已认证请求处理完成（访问日志，可按 audit.log.sampleRate 抽样） */
+    ACCESS,
+
+    /** Token 缺失、无效或过期，请求被拦截器拒绝 */
+    AUTH_FAILED,
+
+    /** 登录成功 */
+    LOGIN_SUCCESS,
+
+    /** 登录失败（用户名或密码错误、系统繁忙等） */
+    LOGIN_FAILED
+}
@@ -0,0 +1,286 @@
+package org.example.helloworld.audit;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 异步访问 / 审计日志
+ *
+ * 请求线程不做任何 I/O，也不加锁：
+ * - 事件写入固定大小的无锁环形缓冲区（多生产者 CAS 占位，单消费者），槽对象启动时预分配、循环复用
+ * - 缓冲区满时直接丢弃事件并计数（audit.events.dropped），不阻塞请求
+ * - 后台线程 audit-writer 每 flushIntervalMillis 毫秒批量取出事件，格式化为 key=value 单行，
+ *   写入名为 AUDIT 的 logger（可在 logback 配置中单独输出到滚动文件）
+ * - ACCESS 事件按 sampleRate 抽样，认证失败、登录事件始终记录
+ */
+@Component
+public class AuditLog {
+
+    /** 审计日志 logger，logback 中可单独配置 appender */
+    private static final Logger AUDIT_LOGGER = LoggerFactory.getLogger("AUDIT");
+
+    private static final Logger log = LoggerFactory.getLogger(AuditLog.class);
+
+    /** 是否启用 */
+    @Value("${audit.log.enabled:true}")
+    private boolean enabled;
+
+    /** 环形缓冲区大小（向上取整为 2 的幂） */
+    @Value("${audit.log.bufferSize:8192}")
+    private int bufferSize;
+
+    /** 后台线程批量写出的间隔（毫秒） */
+    @Value("${audit.log.flushIntervalMillis:50}")
+    private long flushIntervalMillis;
+
+    /** ACCESS 事件的抽样比例（0 ~ 1） */
+    @Value("${audit.log.sampleRate:1.0}")
+    private double sampleRate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private AuditEvent[] slots;
+
+    private int mask;
+
+    /** 下一个可占用的序号（生产者 CAS 递增） */
+    private final AtomicLong tail = new AtomicLong();
+
+    /** 下一个待写出的序号（只由写日志线程修改） */
+    private volatile long head;
+
+    /** 因缓冲区满被丢弃的事件数 */
+    private final LongAdder dropped = new LongAdder();
+
+    private Thread writer;
+
+    private volatile boolean running;
+
+    @PostConstruct
+    public void start() {
+        int capacity = Integer.highestOneBit(Math.max(bufferSize, 2) - 1) << 1;
+        slots = new AuditEvent[capacity];
+        for (int i = 0; i < capacity; i++) {
+            slots[i] = new AuditEvent();
+        }
+        mask = capacity - 1;
+
+        FunctionCounter.builder("audit.events.dropped", dropped, LongAdder::sum)
+                .description("缓冲区满被丢弃的审计事件数")
+                .register(meterRegistry);
+        Gauge.builder("audit.events.pending", this, audit -> audit.tail.get() - audit.head)
+                .description("等待写出的审计事件数")
+                .register(meterRegistry);
+
+        if (!enabled) {
+            return;
+        }
+        running = true;
+        writer = new Thread(this::runWriter, "audit-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    /**
+     * 停止时写出缓冲区中剩余的事件
+     */
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        if (writer != null) {
+            LockSupport.unpark(writer);
+            writer.join(TimeUnit.SECONDS.toMillis(5));
+        }
+    }
+
+    /**
+     * 记录一条事件（不阻塞，缓冲区满时丢弃）
+     *
+     * @param type           事件类型
+     * @param method         HTTP 方法
+     * @param uri            请求路径
+     * @param userId         用户ID（未知时为 null）
+     * @param username       用户名（未知时为 null）
+     * @param remoteAddr     客户端地址
+     * @param status         HTTP 状态码（未知时为 0）
+     * @param durationMicros 处理耗时（微秒，未知时为 0）
+     * @param detail         附加信息（失败原因等）
+     */
+    public void record(AuditEventType type, String method, String uri, Integer userId, String username,
+            String remoteAddr, int status, long durationMicros, String detail) {
+        if (!enabled) {
+            return;
+        }
+        if (type == AuditEventType.ACCESS && sampleRate < 1.0
+                && ThreadLocalRandom.current().nextDouble() >= sampleRate) {
+            return;
+        }
+
+        // 占用一个序号：缓冲区已满（写日志线程还没取走一整圈之前的事件）时丢弃
+        long sequence;
+        do {
+            sequence = tail.get();
+            if (sequence - head >= slots.length) {
+                dropped.increment();
+                return;
+            }
+        } while (!tail.compareAndSet(sequence, sequence + 1));
+
+        AuditEvent event = slots[(int) (sequence & mask)];
+        event.type = type;
+        event.timestampMillis = System.currentTimeMillis();
+        event.method = method;
+        event.uri = uri;
+        event.userId = userId;
+        event.username = username;
+        event.remoteAddr = remoteAddr;
+        event.status = status;
+        event.durationMicros = durationMicros;
+        event.detail = detail;
+        // 发布：写日志线程看到 sequence 后才会读取上面的字段
+        event.sequence = sequence;
+    }
+
+    /**
+     * 因缓冲区满被丢弃的事件数
+     *
+     * @return 丢弃数
+     */
+    public long droppedCount() {
+        return dropped.sum();
+    }
+
+    /**
+     * 写日志线程：定期批量取出已发布的事件并写出
+     */
+    private void runWriter() {
+        StringBuilder line = new StringBuilder(256);
+        while (running) {
+            drain(line);
+            LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(flushIntervalMillis));
+        }
+        drain(line);
+    }
+
+    /**
+     * 写出所有已发布的事件
+     *
+     * @param line 复用的行缓冲
+     */
+    private void drain(StringBuilder line) {
+        long next = head;
+        while (true) {
+            AuditEvent event = slots[(int) (next & mask)];
+            // 序号已被占用但还没发布时停止，下一轮再取
+            if (event.sequence != next) {
+                break;
+            }
+            line.setLength(0);
+            format(event, line);
+            event.clear();
+            // 归还槽位，生产者可以覆盖
+            head = ++next;
+            try {
+                AUDIT_LOGGER.info(line.toString());
+            } catch (RuntimeException e) {
+                log.warn("审计日志写出失败", e);
+            }
+        }
+    }
+
+    /**
+     * 格式化为单行 key=value
+     *
+     * username、uri、detail 来自请求，加双引号并转义，CR / LF 等控制字符不能伪造出新的日志行
+     *
+     * @param event 事件
+     * @param line  行缓冲
+     */
+    private void format(AuditEvent event, StringBuilder line) {
+        line.append("ts=").append(Instant.ofEpochMilli(event.timestampMillis))
+                .append(" type=").append(event.type);
+        if (event.method != null) {
+            line.append(" method=");
+            appendEscaped(line, event.method);
+        }
+        if (event.uri != null) {
+            line.append(" uri=");
+            appendQuoted(line, event.uri);
+        }
+        if (event.status != 0) {
+            line.append(" status=").append(event.status);
+        }
+        if (event.durationMicros != 0) {
+            line.append(" durationUs=").append(event.durationMicros);
+        }
+        if (event.userId != null) {
+            line.append(" userId=").append(event.userId);
+        }
+        if (event.username != null) {
+            line.append(" username=");
+            appendQuoted(line, event.username);
+        }
+        if (event.remoteAddr != null) {
+            line.append(" ip=");
+            appendEscaped(line, event.remoteAddr);
+        }
+        if (event.detail != null) {
+            line.append(" detail=");
+            appendQuoted(line, event.detail);
+        }
+    }
+
+    /**
+     * 追加带双引号的值
+     *
+     * @param line  行缓冲
+     * @param value 值
+     */
+    private static void appendQuoted(StringBuilder line, String value) {
+        line.append('"');
+        appendEscaped(line, value);
+        line.append('"');
+    }
+
+    /**
+     * 追加值，转义反斜杠、双引号和控制字符（\r \n \t，其余为 \\uXXXX）
+     *
+     * @param line  行缓冲
+     * @param value 值
+     */
+    private static void appendEscaped(StringBuilder line, String value) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '\\' -> line.append("\\\\");
+                case '"' -> line.append("\\\"");
+                case '\r' -> line.append("\\r");
+                case '\n' -> line.append("\\n");
+                case '\t' -> line.append("\\t");
+                default -> {
+                    if (Character.isISOControl(c) || c == '\u2028' || c == '\u2029') {
+                        line.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        line.append(c);
+                    }
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package org.example.helloworld.config;
+
+import com.alibaba.druid.pool.DruidDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.example.helloworld.datasource.DruidDataSourcePoolMetadata;
+import org.example.helloworld.datasource.DruidPoolMetrics;
+import org.example.helloworld.datasource.DruidPoolMetricsFilter;
+import org.example.helloworld.datasource.SqlTimingInterceptor;
+import org.example.helloworld.datasource.StatementCacheMode;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.metadata.DataSourcePoolMetadataProvider;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+
+/**
+ * 数据源配置（Druid 连接池 + 监控指标）
+ *
+ * druid-spring-boot-starter 1.1.20 的自动配置在 Spring Boot 3 下不会加载，
+ * 这里手动创建 DruidDataSource，并绑定 spring.datasource.druid.*（连接池大小、等待超时、PreparedStatement 缓存等）。
+ * 连接池在第一次获取连接时才初始化，启动时不连接数据库。
+ *
+ * 指标：
+ * - jdbc.connections.active / idle / max / min: 连接池连接数
+ * - druid.pool.waiting、druid.pool.acquire: 等待连接的线程数、获取连接的等待时间
+ * - druid.pstmt.cache.*: PreparedStatement 缓存命中情况
+ * - mybatis.statement: 每个 Mapper 方法的耗时，慢 SQL 输出日志（datasource.slowSqlMillis）
+ *
+ * MySQL 驱动的 PreparedStatement 缓存由 datasource.statementCache.* 配置（见 StatementCacheMode），各环境可覆盖；
+ * datasource.rewriteBatchedStatements 让 JDBC 批量插入合并为多行 INSERT（见 ProjectService.createProjects）
+ */
+@Configuration
+public class DataSourceConfig {
+
+  /** 慢 SQL 阈值（毫秒） */
+  @Value("${datasource.slowSqlMillis:500}")
+  private long slowSqlMillis;
+
+  /** MySQL 驱动的 PreparedStatement 缓存模式：none / client / server */
+  @Value("${datasource.statementCache.mode:client}")
+  private StatementCacheMode statementCacheMode;
+
+  /** 每个连接缓存的语句数 */
+  @Value("${datasource.statementCache.cacheSize:250}")
+  private int statementCacheSize;
+
+  /** 可缓存的最大 SQL 长度 */
+  @Value("${datasource.statementCache.sqlLimit:2048}")
+  private int statementCacheSqlLimit;
+
+  /** JDBC 批量插入合并为多行 INSERT（MySQL 驱动的 rewriteBatchedStatements） */
+  @Value("${datasource.rewriteBatchedStatements:true}")
+  private boolean rewriteBatchedStatements;
+
+  /**
+   * 获取连接耗时统计（Druid Filter）
+   *
+   * @param meterRegistry 指标注册表
+   * @return Filter
+   */
+  @Bean
+  public DruidPoolMetricsFilter druidPoolMetricsFilter(MeterRegistry meterRegistry) {
+    return new DruidPoolMetricsFilter(meterRegistry);
+  }
+
+  /**
+   * Druid 数据源
+   *
+   * url、username、password、driver-class-name 使用 spring.datasource.*，
+   * 连接池参数使用 spring.datasource.druid.*
+   *
+   * @param properties             spring.datasource.* 配置
+   * @param druidPoolMetricsFilter 获取连接耗时统计
+   * @return 数据源
+   */
+  @Bean(destroyMethod = "close")
+  @ConfigurationProperties("spring.datasource.druid")
+  public DruidDataSource dataSource(DataSourceProperties properties, DruidPoolMetricsFilter druidPoolMetricsFilter) {
+    DruidDataSource dataSource = new DruidDataSource();
+    dataSource.setUrl(properties.determineUrl());
+    dataSource.setUsername(properties.determineUsername());
+    dataSource.setPassword(properties.determinePassword());
+    dataSource.setDriverClassName(properties.determineDriverClassName());
+    if (dataSource.getUrl() != null && dataSource.getUrl().startsWith("jdbc:mysql:")) {
+      Properties driverProperties = statementCacheMode.toDriverProperties(statementCacheSize, statementCacheSqlLimit);
+      driverProperties.setProperty("rewriteBatchedStatements", String.valueOf(rewriteBatchedStatements));
+      dataSource.setConnectProperties(driverProperties);
+    }
+    List<com.alibaba.druid.filter.Filter> filters = new ArrayList<>();
+    filters.add(druidPoolMetricsFilter);
+    dataSource.setProxyFilters(filters);
+    return dataSource;
+  }
+
+  /**
+   * 连接池元数据，Spring Boot 据此注册 jdbc.connections.* 指标
+   *
+   * @return DataSourcePoolMetadataProvider
+   */
+  @Bean
+  public DataSourcePoolMetadataProvider druidPoolMetadataProvider() {
+    return dataSource -> dataSource instanceof DruidDataSource druidDataSource
+        ? new DruidDataSourcePoolMetadata(druidDataSource)
+        : null;
+  }
+
+  /**
+   * 连接等待、PreparedStatement 缓存指标
+   *
+   * @param dataSource 数据源
+   * @return MeterBinder
+   */
+  @Bean
+  public DruidPoolMetrics druidPoolMetrics(DruidDataSource dataSource) {
+    return new DruidPoolMetrics(dataSource);
+  }
+
+  /**
+   * SQL 耗时统计和慢 SQL 日志（MyBatis 插件）
+   *
+   * @param meterRegistry 指标注册表
+   * @return 插件
+   */
+  @Bean
+  public SqlTimingInterceptor sqlTimingInterceptor(MeterRegistry meterRegistry) {
+    return new SqlTimingInterceptor(meterRegistry, slowSqlMillis);
+  }
+}
@@ -0,0 +1,49 @@
+package org.example.helloworld.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * 文件上传线程池配置
+ *
+ * 批量上传时每个文件作为一个任务并行上传：
+ * - file.upload.concurrency: 同时上传的最大文件数（线程池大小）
+ * - file.upload.queueCapacity: 等待队列长度，队列满时由调用线程自己执行（背压）
+ * - 应用关闭时等待正在上传的任务完成
+ * - 启用虚拟线程（spring.threads.virtual.enabled=true，见 vthreads profile）时，上传任务在虚拟线程上执行
+ */
+@Configuration
+public class FileUploadConfig {
+
+  @Value("${file.upload.concurrency:8}")
+  private int concurrency;
+
+  @Value("${file.upload.queueCapacity:200}")
+  private int queueCapacity;
+
+  @Value("${spring.threads.virtual.enabled:false}")
+  private boolean virtualThreads;
+
+  /**
+   * 文件上传线程池
+   *
+   * @return 线程池
+   */
+  @Bean
+  public ThreadPoolTaskExecutor fileUploadExecutor() {
+    ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+    executor.setThreadNamePrefix("file-upload-");
+    executor.setCorePoolSize(concurrency);
+    executor.setMaxPoolSize(concurrency);
+    executor.setQueueCapacity(queueCapacity);
+    executor.setVirtualThreads(virtualThreads);
+    executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+    executor.setWaitForTasksToCompleteOnShutdown(true);
+    executor.setAwaitTerminationSeconds(30);
+    return executor;
+  }
+}
@@ -4,11 +4,35 @@ import com.baomidou.mybatisplus.extension.plugins.MybatisPlusInterceptor;
 import com.baomidou.mybatisplus.extension.plugins.inner.PaginationInnerInterceptor;
 import com.baomidou.mybatisplus.annotation.DbType;
 
+import jakarta.annotation.PostConstruct;
+import org.apache.ibatis.session.ExecutorType;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
 @Configuration
 public class MybatisPlusConfig {
+
+  /**
+   * 默认执行器（mybatis-plus.configuration.default-executor-type）
+   * 
+   * - SIMPLE: 每条 SQL 新建 Statement（由 Druid / 驱动的 PreparedStatement 缓存复用预编译结果）
+   * - REUSE: 同一个 SqlSession（同一事务）内相同 SQL 复用 Statement
+   * - BATCH: 不能作为默认执行器，批量写入时显式使用（如 saveBatch）
+   */
+  @Value("${mybatis-plus.configuration.default-executor-type:SIMPLE}")
+  private ExecutorType defaultExecutorType;
+
+  /**
+   * BATCH 执行器的 update 在提交时才真正执行，返回的影响行数不可用，唯一索引冲突也要到提交时才抛出，
+   * 依赖影响行数和 DuplicateKeyException 的逻辑（注册、修改项目等）都会出错
+   */
+  @PostConstruct
+  public void checkExecutorType() {
+    if (defaultExecutorType == ExecutorType.BATCH) {
+      throw new IllegalStateException("mybatis-plus.configuration.default-executor-type 不能为 BATCH，批量写入请显式使用 BATCH 执行器");
+    }
+  }
   /**
    * 添加分页插件
    */
@@ -0,0 +1,143 @@
+package org.example.helloworld.config;
+
+import com.aliyun.oss.ClientBuilderConfiguration;
+import com.aliyun.oss.OSS;
+import com.aliyun.oss.OSSClientBuilder;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * 阿里云 OSS 客户端配置
+ *
+ * 全局共享一个 OSS 客户端（内部维护 HTTP 连接池），避免每次上传/删除都新建并关闭客户端：
+ * - 连接池大小、超时、空闲连接回收时间均可配置（aliyun.oss.client.*）
+ * - 应用关闭时调用 shutdown 优雅释放连接池
+ * - 只有配置了 endpoint 和 accessKeyId 时才创建，否则 FileService 回退到本地存储
+ */
+@Configuration
+@ConditionalOnExpression("'${aliyun.oss.endpoint:}' != '' and '${aliyun.oss.accessKeyId:}' != ''")
+public class OssConfig {
+
+  @Value("${aliyun.oss.endpoint}")
+  private String endpoint;
+
+  @Value("${aliyun.oss.accessKeyId}")
+  private String accessKeyId;
+
+  @Value("${aliyun.oss.accessKeySecret:}")
+  private String accessKeySecret;
+
+  /** 连接池最大连接数 */
+  @Value("${aliyun.oss.client.maxConnections:128}")
+  private int maxConnections;
+
+  /** 建立连接超时时间（毫秒） */
+  @Value("${aliyun.oss.client.connectionTimeout:10000}")
+  private int connectionTimeout;
+
+  /** 从连接池获取连接的超时时间（毫秒） */
+  @Value("${aliyun.oss.client.connectionRequestTimeout:5000}")
+  private int connectionRequestTimeout;
+
+  /** Socket 读写超时时间（毫秒） */
+  @Value("${aliyun.oss.client.socketTimeout:50000}")
+  private int socketTimeout;
+
+  /** 空闲连接超过该时间（毫秒）后被后台线程回收 */
+  @Value("${aliyun.oss.client.idleConnectionTime:60000}")
+  private long idleConnectionTime;
+
+  /** 失败重试次数 */
+  @Value("${aliyun.oss.client.maxErrorRetry:3}")
+  private int maxErrorRetry;
+
+  /**
+   * 共享的 OSS 客户端（线程安全）
+   * 容器关闭时调用 shutdown 释放连接池
+   *
+   * @return OSS 客户端
+   */
+  @Bean(destroyMethod = "shutdown")
+  public OSS ossClient() {
+    ClientBuilderConfiguration config = new ClientBuilderConfiguration();
+    config.setMaxConnections(maxConnections);
+    config.setConnectionTimeout(connectionTimeout);
+    config.setConnectionRequestTimeout(connectionRequestTimeout);
+    config.setSocketTimeout(socketTimeout);
+    config.setIdleConnectionTime(idleConnectionTime);
+    config.setMaxErrorRetry(maxErrorRetry);
+
+    return new OSSClientBuilder().build(endpoint, accessKeyId, accessKeySecret, config);
+  }
+
+  /**
+   * OSS 客户端监控指标（通过 actuator /actuator/metrics 查看）
+   *
+   * @param registry Micrometer 注册表
+   * @return OSS 客户端指标
+   */
+  @Bean
+  public OssClientMetrics ossClientMetrics(MeterRegistry registry) {
+    return new OssClientMetrics(registry, maxConnections);
+  }
+
+  /**
+   * OSS 客户端指标
+   *
+   * 指标说明：
+   * - oss.client.requests: 请求耗时直方图（按 operation、outcome 区分）
+   * - oss.client.in.flight: 正在执行的请求数（同步 SDK 下即当前占用的连接数）
+   * - oss.client.pool.max: 连接池最大连接数
+   */
+  public static class OssClientMetrics {
+
+    private final MeterRegistry registry;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    OssClientMetrics(MeterRegistry registry, int maxConnections) {
+      this.registry = registry;
+      Gauge.builder("oss.client.in.flight", inFlight, AtomicInteger::get)
+          .description("正在执行的 OSS 请求数")
+          .register(registry);
+      Gauge.builder("oss.client.pool.max", () -> maxConnections)
+          .description("OSS 连接池最大连接数")
+          .register(registry);
+    }
+
+    /**
+     * 记录一次 OSS 调用（耗时、结果、并发数）
+     *
+     * @param operation 操作名称，如 put、delete
+     * @param call      实际调用
+     * @return 调用结果
+     */
+    public <T> T record(String operation, Supplier<T> call) {
+      Timer.Sample sample = Timer.start(registry);
+      String outcome = "success";
+      inFlight.incrementAndGet();
+      try {
+        return call.get();
+      } catch (RuntimeException e) {
+        outcome = "error";
+        throw e;
+      } finally {
+        inFlight.decrementAndGet();
+        sample.stop(Timer.builder("oss.client.requests")
+            .description("OSS 请求耗时")
+            .tag("operation", operation)
+            .tag("outcome", outcome)
+            .publishPercentileHistogram()
+            .register(registry));
+      }
+    }
+  }
+}
@@ -0,0 +1,42 @@
+package org.example.helloworld.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * 密码哈希线程池配置
+ *
+ * BCrypt 每次计算要消耗几十到几百毫秒 CPU，放在独立的有界线程池中执行，避免登录高峰占满 CPU 影响其他接口：
+ * - user.password.hashThreads: 线程数，0 表示 CPU 核数
+ * - user.password.queueCapacity: 等待队列长度，队列满时直接拒绝（返回 SYSTEM_BUSY），不再排队
+ */
+@Configuration
+public class PasswordHashConfig {
+
+  @Value("${user.password.hashThreads:0}")
+  private int hashThreads;
+
+  @Value("${user.password.queueCapacity:64}")
+  private int queueCapacity;
+
+  /**
+   * 密码哈希线程池
+   *
+   * @return 线程池
+   */
+  @Bean
+  public ThreadPoolTaskExecutor passwordHashExecutor() {
+    int threads = hashThreads > 0 ? hashThreads : Runtime.getRuntime().availableProcessors();
+    ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+    executor.setThreadNamePrefix("password-hash-");
+    executor.setCorePoolSize(threads);
+    executor.setMaxPoolSize(threads);
+    executor.setQueueCapacity(queueCapacity);
+    executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+    return executor;
+  }
+}
@@ -0,0 +1,134 @@
+package org.example.helloworld.config;
+
+import com.alibaba.druid.pool.DruidDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.example.helloworld.datasource.ReadWriteRoutingDataSource;
+import org.example.helloworld.datasource.ReadYourWrites;
+import org.example.helloworld.datasource.WriteTrackingInterceptor;
+import org.example.helloworld.interceptor.ReadYourWritesInterceptor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 读写分离配置（datasource.routing.enabled=true 时启用）
+ *
+ * 主库是 DataSourceConfig 创建的 Druid 数据源；从库连接池复制主库的连接池参数（spring.datasource.druid.*），
+ * 只替换 url、用户名和密码。MyBatis、事务管理器使用这里的 @Primary 数据源：
+ * 只读事务路由到从库，其余走主库，规则见 ReadWriteRoutingDataSource
+ */
+@Configuration
+@ConditionalOnProperty(name = "datasource.routing.enabled", havingValue = "true")
+public class ReadWriteRoutingConfig {
+
+  /** 从库 JDBC URL，多个用逗号分隔 */
+  @Value("${datasource.routing.replicaUrls:}")
+  private List<String> replicaUrls;
+
+  /** 从库用户名，默认与主库相同 */
+  @Value("${datasource.routing.replicaUsername:${spring.datasource.username:}}")
+  private String replicaUsername;
+
+  /** 从库密码，默认与主库相同 */
+  @Value("${datasource.routing.replicaPassword:${spring.datasource.password:}}")
+  private String replicaPassword;
+
+  /** 复制延迟超过该值（秒）的从库暂停使用 */
+  @Value("${datasource.routing.maxLagSeconds:5}")
+  private long maxLagSeconds;
+
+  /** 复制延迟检查间隔（秒） */
+  @Value("${datasource.routing.lagCheckIntervalSeconds:5}")
+  private long lagCheckIntervalSeconds;
+
+  /** 客户端写入后固定读主库的时长（毫秒） */
+  @Value("${datasource.routing.stickyMillis:3000}")
+  private long stickyMillis;
+
+  /** 同时记录的最近写入客户端数上限 */
+  @Value("${datasource.routing.stickyMaxClients:100000}")
+  private long stickyMaxClients;
+
+  /**
+   * 读己之写：记录最近写入过的客户端
+   *
+   * @return ReadYourWrites
+   */
+  @Bean
+  public ReadYourWrites readYourWrites() {
+    return new ReadYourWrites(stickyMillis, stickyMaxClients);
+  }
+
+  /**
+   * 写 SQL 记录（MyBatis 插件）
+   *
+   * @param readYourWrites 读己之写
+   * @return 插件
+   */
+  @Bean
+  public WriteTrackingInterceptor writeTrackingInterceptor(ReadYourWrites readYourWrites) {
+    return new WriteTrackingInterceptor(readYourWrites);
+  }
+
+  /**
+   * 登记请求客户端的拦截器（WebConfig 中注册）
+   *
+   * @param readYourWrites 读己之写
+   * @return 拦截器
+   */
+  @Bean
+  public ReadYourWritesInterceptor readYourWritesInterceptor(ReadYourWrites readYourWrites) {
+    return new ReadYourWritesInterceptor(readYourWrites);
+  }
+
+  /**
+   * 按事务只读标记路由到主库或从库的数据源
+   *
+   * @param dataSource     主库（DataSourceConfig 中的 Druid 数据源）
+   * @param readYourWrites 读己之写
+   * @param meterRegistry  指标注册表
+   * @return 路由数据源
+   */
+  @Bean
+  public ReadWriteRoutingDataSource readWriteRoutingDataSource(DruidDataSource dataSource,
+      ReadYourWrites readYourWrites, MeterRegistry meterRegistry) {
+    List<String> urls = replicaUrls.stream().map(String::trim).filter(url -> !url.isEmpty()).toList();
+    if (urls.isEmpty()) {
+      throw new IllegalStateException("datasource.routing.enabled=true 时需要配置 datasource.routing.replicaUrls");
+    }
+    List<DruidDataSource> replicas = new ArrayList<>();
+    for (int i = 0; i < urls.size(); i++) {
+      DruidDataSource replica = dataSource.cloneDruidDataSource();
+      replica.setName("replica-" + (i + 1));
+      replica.setUrl(urls.get(i));
+      replica.setUsername(replicaUsername);
+      replica.setPassword(replicaPassword);
+      // 获取连接耗时统计只针对主库
+      replica.getProxyFilters().clear();
+      replicas.add(replica);
+    }
+    return new ReadWriteRoutingDataSource(dataSource, replicas, readYourWrites, maxLagSeconds,
+        lagCheckIntervalSeconds, meterRegistry);
+  }
+
+  /**
+   * 应用使用的数据源
+   *
+   * 延迟到第一条 SQL 执行时才获取物理连接，此时 @Transactional(readOnly = true) 的只读标记已经生效
+   *
+   * @param readWriteRoutingDataSource 路由数据源
+   * @return 数据源
+   */
+  @Bean
+  @Primary
+  public DataSource routingDataSource(ReadWriteRoutingDataSource readWriteRoutingDataSource) {
+    return new LazyConnectionDataSourceProxy(readWriteRoutingDataSource);
+  }
+}
@@ -0,0 +1,92 @@
+package org.example.helloworld.config;
+
+import com.aliyun.oss.OSS;
+import org.example.helloworld.config.OssConfig.OssClientMetrics;
+import org.example.helloworld.storage.LocalStorageBackend;
+import org.example.helloworld.storage.OssStorageBackend;
+import org.example.helloworld.storage.StorageBackend;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.io.IOException;
+
+/**
+ * 文件存储后端配置
+ *
+ * file.storage.type 取值：
+ * - auto（默认）：配置了阿里云 OSS 时使用 OSS，否则使用本地磁盘
+ * - oss：强制使用 OSS，未配置 OSS 时启动失败
+ * - local：强制使用本地磁盘（离线部署、压测）
+ */
+@Configuration
+public class StorageConfig {
+
+  @Value("${file.storage.type:auto}")
+  private String storageType;
+
+  /** 本地存储根目录 */
+  @Value("${file.storage.local.root:./storage}")
+  private String localRoot;
+
+  /** 本地存储的文件访问 URL 前缀 */
+  @Value("${file.storage.local.baseUrl:http://localhost:${server.port:8080}}")
+  private String localBaseUrl;
+
+  @Value("${aliyun.oss.endpoint:}")
+  private String endpoint;
+
+  @Value("${aliyun.oss.bucketName:}")
+  private String bucketName;
+
+  @Value("${aliyun.oss.urlPrefix:}")
+  private String urlPrefix;
+
+  /** 流式上传的分片大小（字节），OSS 要求除最后一个分片外不小于 100KB */
+  @Value("${file.upload.stream.partSize:5242880}")
+  private int streamPartSize;
+
+  /** 同时进行的流式上传数量上限（即分片缓冲区数量） */
+  @Value("${file.upload.stream.maxConcurrent:4}")
+  private int streamMaxConcurrent;
+
+  /** 等待空闲分片缓冲区的最长时间（秒） */
+  @Value("${file.upload.stream.bufferWaitSeconds:10}")
+  private long streamBufferWaitSeconds;
+
+  /**
+   * 文件存储后端
+   *
+   * @param ossClientProvider  OSS 客户端（未配置 OSS 时不存在）
+   * @param ossMetricsProvider OSS 客户端指标（未配置 OSS 时不存在）
+   * @return 存储后端
+   * @throws IOException 创建本地存储目录失败
+   */
+  @Bean
+  public StorageBackend storageBackend(ObjectProvider<OSS> ossClientProvider,
+      ObjectProvider<OssClientMetrics> ossMetricsProvider) throws IOException {
+    OSS ossClient = ossClientProvider.getIfAvailable();
+
+    switch (storageType) {
+      case "local":
+        return new LocalStorageBackend(localRoot, localBaseUrl);
+      case "oss":
+        if (ossClient == null) {
+          throw new IllegalStateException("file.storage.type=oss，但未配置阿里云 OSS（aliyun.oss.*）");
+        }
+        return createOssBackend(ossClient, ossMetricsProvider.getObject());
+      case "auto":
+        return ossClient != null
+            ? createOssBackend(ossClient, ossMetricsProvider.getObject())
+            : new LocalStorageBackend(localRoot, localBaseUrl);
+      default:
+        throw new IllegalStateException("不支持的 file.storage.type：" + storageType);
+    }
+  }
+
+  private StorageBackend createOssBackend(OSS ossClient, OssClientMetrics ossClientMetrics) {
+    return new OssStorageBackend(ossClient, ossClientMetrics, endpoint, bucketName, urlPrefix,
+        streamPartSize, streamMaxConcurrent, streamBufferWaitSeconds);
+  }
+}
@@ -1,6 +1,12 @@
 package org.example.helloworld.config;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.example.helloworld.audit.AuditLog;
 import org.example.helloworld.interceptor.LoginInterceptor;
+import org.example.helloworld.interceptor.ReadYourWritesInterceptor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
 import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
@@ -10,9 +16,21 @@ import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
  * Web 配置类
  * 配置拦截器、跨域等
  */
+@Slf4j
 @Configuration
 public class WebConfig implements WebMvcConfigurer {
 
+    @Autowired
+    private AuditLog auditLog;
+
+    /** JacksonConfig 中配置的 ObjectMapper，拦截器用它序列化错误响应 */
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    /** 读写分离时的读己之写拦截器（见 ReadWriteRoutingConfig），未启用时不存在 */
+    @Autowired
+    private ObjectProvider<ReadYourWritesInterceptor> readYourWritesInterceptor;
+
     /**
      * 添加拦截器
      * 
@@ -21,7 +39,7 @@ public class WebConfig implements WebMvcConfigurer {
     @Override
     public void addInterceptors(InterceptorRegistry registry) {
         // 拦截所有请求
-        registry.addInterceptor(new LoginInterceptor()).addPathPatterns("/**")
+        registry.addInterceptor(new LoginInterceptor(auditLog, objectMapper)).addPathPatterns("/**")
                 // // 白名单：不需要登录就可以访问的接口
                 .excludePathPatterns(
                         // 用户认证相关接口
@@ -60,7 +78,10 @@ public class WebConfig implements WebMvcConfigurer {
                         // 错误页面
                         "/error");
 
-        System.out.println("LoginInterceptor 已注册，白名单接口不需要 Token 认证");
+        log.info("LoginInterceptor 已注册，白名单接口不需要 Token 认证");
+
+        // 在 LoginInterceptor 之后执行，已登录的请求可以取到 userId
+        readYourWritesInterceptor.ifAvailable(interceptor -> registry.addInterceptor(interceptor).addPathPatterns("/**"));
     }
 
     /**
@@ -77,6 +98,6 @@ public class WebConfig implements WebMvcConfigurer {
                 .allowCredentials(true) // 允许携带凭证（如 Cookie、Authorization 头）
                 .maxAge(3600); // 预检请求的有效期（秒）
 
-        System.out.println("CORS 跨域配置已启用");
+        log.info("CORS 跨域配置已启用");
     }
 }
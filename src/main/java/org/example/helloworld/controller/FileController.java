@@ -2,9 +2,13 @@ package org.example.helloworld.controller;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.extern.slf4j.Slf4j;
+import org.example.helloworld.exception.BusinessException;
 import org.example.helloworld.service.FileService;
 import org.example.helloworld.utils.BusinessCode;
 import org.example.helloworld.utils.Result;
+import org.example.helloworld.vo.BatchUploadItemVO;
 import org.example.helloworld.vo.BatchUploadVO;
 import org.example.helloworld.vo.FileUploadVO;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -12,11 +16,13 @@ import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.util.List;
+import java.util.stream.Collectors;
 
 /**
  * 文件上传控制器
  * 支持阿里云 OSS 存储
  */
+@Slf4j
 @Tag(name = "文件管理", description = "文件上传下载接口")
 @RestController
 @RequestMapping("/file")
@@ -28,12 +34,13 @@ public class FileController {
   /**
    * 上传文件到阿里云 OSS
    * 
-   * @param file 上传的文件
+   * @param file    上传的文件
+   * @param request HTTP 请求对象（获取当前用户ID）
    * @return 文件访问 URL
    */
   @Operation(summary = "上传文件", description = "上传文件到阿里云OSS，返回文件访问URL")
   @PostMapping("/upload")
-  public Result<FileUploadVO> upload(@RequestParam("file") MultipartFile file) {
+  public Result<FileUploadVO> upload(@RequestParam("file") MultipartFile file, HttpServletRequest request) {
     // 基础参数校验
     if (file == null || file.isEmpty()) {
       return Result.fail(BusinessCode.PARAM_MISSING, "请选择要上传的文件");
@@ -41,7 +48,7 @@ public class FileController {
 
     try {
       // 业务逻辑（包括文件类型验证）交给 Service 层处理
-      String url = fileService.upload(file);
+      String url = fileService.upload(file, (Integer) request.getAttribute("userId"));
       
       // 构建响应 VO
       FileUploadVO uploadVO = FileUploadVO.builder()
@@ -62,55 +69,99 @@ public class FileController {
   }
 
   /**
-   * 批量上传文件
+   * 流式上传文件到阿里云 OSS
+   * 
+   * 请求体即文件内容（不使用 multipart/form-data），Content-Type 为文件类型，
+   * 服务端边读边分片上传，不会把整个文件缓存在内存或临时文件中，适合大视频/音频文件
    * 
-   * @param files 上传的文件数组
-   * @return 文件访问 URL 列表
+   * @param fileName 原始文件名
+   * @param request  HTTP 请求对象（读取请求体、Content-Type 和当前用户ID）
+   * @return 文件访问 URL
    */
-  @Operation(summary = "批量上传文件", description = "批量上传文件到阿里云OSS")
-  @PostMapping("/batch-upload")
-  public Result<BatchUploadVO> batchUpload(@RequestParam("files") MultipartFile[] files) {
+  @Operation(summary = "流式上传文件", description = "请求体为文件内容，Content-Type 为文件类型，分片流式上传到阿里云OSS，适合大文件")
+  @PostMapping("/upload-stream")
+  public Result<FileUploadVO> uploadStream(@RequestParam("fileName") String fileName,
+      HttpServletRequest request) {
     // 基础参数校验
-    if (files == null || files.length == 0) {
-      return Result.fail(BusinessCode.PARAM_MISSING, "请选择要上传的文件");
+    if (fileName == null || fileName.trim().isEmpty()) {
+      return Result.fail(BusinessCode.PARAM_MISSING, "文件名不能为空");
     }
 
     try {
-      List<String> urls = fileService.batchUpload(files);
-      
-      // 构建响应 VO
-      BatchUploadVO batchUploadVO = BatchUploadVO.builder()
-          .urls(urls)
-          .count(files.length)
-          .build();
-      
-      return Result.ok("批量上传成功", batchUploadVO);
+      FileUploadVO uploadVO = fileService.uploadStream(request.getInputStream(), fileName.trim(),
+          request.getContentType(), (Integer) request.getAttribute("userId"));
+      return Result.ok("上传成功", uploadVO);
     } catch (IllegalArgumentException e) {
-      // 业务异常
+      // 业务异常（如文件类型不支持、文件为空、超过大小限制）
       return Result.fail(BusinessCode.PARAM_VALIDATION_ERROR, e.getMessage());
+    } catch (BusinessException e) {
+      // 上传并发已满（SYSTEM_BUSY）等，不是系统异常
+      return Result.fail(e.getBusinessCode(), e.getMessage());
     } catch (Exception e) {
       // 系统异常
-      e.printStackTrace();
-      return Result.fail(BusinessCode.INTERNAL_ERROR, "批量上传失败：" + e.getMessage());
+      log.error("流式上传文件失败: {}", fileName, e);
+      return Result.fail(BusinessCode.INTERNAL_ERROR, "上传失败：" + e.getMessage());
+    }
+  }
+
+  /**
+   * 批量上传文件
+   * 文件并行上传，单个文件失败不影响其他文件，每个文件的结果见 results
+   * 
+   * @param files   上传的文件数组
+   * @param request HTTP 请求对象（获取当前用户ID）
+   * @return 文件访问 URL 列表及每个文件的上传结果
+   */
+  @Operation(summary = "批量上传文件", description = "批量上传文件到阿里云OSS，并行上传并返回每个文件的上传结果")
+  @PostMapping("/batch-upload")
+  public Result<BatchUploadVO> batchUpload(@RequestParam("files") MultipartFile[] files,
+      HttpServletRequest request) {
+    // 基础参数校验
+    if (files == null || files.length == 0) {
+      return Result.fail(BusinessCode.PARAM_MISSING, "请选择要上传的文件");
+    }
+
+    List<BatchUploadItemVO> results = fileService.batchUpload(files, (Integer) request.getAttribute("userId"));
+
+    // 构建响应 VO（count 只统计上传成功的文件）
+    List<String> urls = results.stream()
+        .filter(BatchUploadItemVO::getSuccess)
+        .map(BatchUploadItemVO::getUrl)
+        .collect(Collectors.toList());
+    int failedCount = results.size() - urls.size();
+
+    BatchUploadVO batchUploadVO = BatchUploadVO.builder()
+        .urls(urls)
+        .count(urls.size())
+        .failedCount(failedCount)
+        .results(results)
+        .build();
+
+    if (urls.isEmpty()) {
+      return Result.fail(BusinessCode.OPERATION_FAILED, "批量上传失败：所有文件均上传失败", batchUploadVO);
     }
+    String message = failedCount == 0 ? "批量上传成功"
+        : String.format("批量上传部分成功：成功 %d 个，失败 %d 个", urls.size(), failedCount);
+    return Result.ok(message, batchUploadVO);
   }
 
   /**
    * 删除文件
    * 
    * @param fileUrl 文件URL
+   * @param request HTTP 请求对象（获取当前用户ID）
    * @return 删除结果
    */
   @Operation(summary = "删除文件", description = "从阿里云OSS删除文件")
   @DeleteMapping("/delete")
-  public Result<Void> delete(@RequestParam("fileUrl") String fileUrl) {
+  public Result<Void> delete(@RequestParam("fileUrl") String fileUrl, HttpServletRequest request) {
     // 基础参数校验
     if (fileUrl == null || fileUrl.trim().isEmpty()) {
       return Result.fail(BusinessCode.PARAM_MISSING, "文件URL不能为空");
     }
 
     try {
-      fileService.delete(fileUrl);
+      fileService.delete(fileUrl, (Integer) request.getAttribute("userId"));
       return Result.ok("删除成功", null);
     } catch (Exception e) {
       e.printStackTrace();
@@ -0,0 +1,171 @@
+package org.example.helloworld.controller;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.example.helloworld.storage.LocalStorageBackend;
+import org.example.helloworld.storage.StorageBackend;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.util.UrlPathHelper;
+
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * 本地存储文件访问控制器
+ *
+ * 只在使用本地存储后端（file.storage.type=local 或未配置 OSS）时提供文件，否则返回 404：
+ * - 支持 HTTP Range（单个区间），返回 206 Partial Content，便于视频拖动播放和断点续传
+ * - Tomcat 支持 sendfile 时交给 Tomcat 使用 sendfile 零拷贝发送，否则使用 FileChannel.transferTo
+ */
+@Tag(name = "文件管理", description = "文件上传下载接口")
+@RestController
+public class LocalFileController {
+
+  /** Tomcat sendfile 相关的请求属性 */
+  private static final String SENDFILE_SUPPORTED_ATTR = "org.apache.tomcat.sendfile.support";
+  private static final String SENDFILE_FILENAME_ATTR = "org.apache.tomcat.sendfile.filename";
+  private static final String SENDFILE_START_ATTR = "org.apache.tomcat.sendfile.start";
+  private static final String SENDFILE_END_ATTR = "org.apache.tomcat.sendfile.end";
+
+  @Autowired
+  private StorageBackend storageBackend;
+
+  /**
+   * 访问本地存储的文件
+   *
+   * @param request  HTTP 请求对象
+   * @param response HTTP 响应对象
+   * @throws IOException 读取文件异常
+   */
+  @Operation(summary = "访问本地文件", description = "访问本地存储的文件，支持 Range 请求")
+  @GetMapping("/uploads/**")
+  public void serve(HttpServletRequest request, HttpServletResponse response) throws IOException {
+    if (!(storageBackend instanceof LocalStorageBackend localStorage)) {
+      response.sendError(HttpServletResponse.SC_NOT_FOUND);
+      return;
+    }
+
+    // 请求路径即对象名：/uploads/2025/11/03/xxx.jpg -> uploads/2025/11/03/xxx.jpg
+    // 使用 URL 解码后的路径，与写入时的对象名一致；解码后的路径仍由 resolve 做路径穿越检查
+    String objectName = UrlPathHelper.defaultInstance.getPathWithinApplication(request).substring(1);
+    Path path;
+    try {
+      path = localStorage.resolve(objectName);
+    } catch (IllegalArgumentException e) {
+      response.sendError(HttpServletResponse.SC_BAD_REQUEST);
+      return;
+    }
+    if (!Files.isRegularFile(path)) {
+      response.sendError(HttpServletResponse.SC_NOT_FOUND);
+      return;
+    }
+
+    long fileSize = Files.size(path);
+    long[] range = parseRange(request.getHeader(HttpHeaders.RANGE), fileSize);
+    if (range == null) {
+      response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + fileSize);
+      response.sendError(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+      return;
+    }
+    long start = range[0];
+    long end = range[1];
+    long length = end - start + 1;
+
+    MediaType mediaType = MediaTypeFactory.getMediaType(path.getFileName().toString())
+        .orElse(MediaType.APPLICATION_OCTET_STREAM);
+    response.setContentType(mediaType.toString());
+    response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+    response.setContentLengthLong(length);
+    if (length != fileSize) {
+      response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+      response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + fileSize);
+    }
+    if (length == 0) {
+      return;
+    }
+
+    // Tomcat sendfile：响应提交后由 Tomcat 直接从文件发送到 socket（零拷贝）
+    if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORTED_ATTR))) {
+      request.setAttribute(SENDFILE_FILENAME_ATTR, path.toAbsolutePath().toString());
+      request.setAttribute(SENDFILE_START_ATTR, start);
+      request.setAttribute(SENDFILE_END_ATTR, end + 1);
+      return;
+    }
+
+    try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+      WritableByteChannel out = Channels.newChannel(response.getOutputStream());
+      long position = start;
+      long remaining = length;
+      while (remaining > 0) {
+        long transferred = channel.transferTo(position, remaining, out);
+        if (transferred <= 0) {
+          break;
+        }
+        position += transferred;
+        remaining -= transferred;
+      }
+    }
+  }
+
+  /**
+   * 解析 Range 请求头（只支持单个区间，多个区间时返回整个文件）
+   *
+   * 支持的格式：
+   * - bytes=0-499: 第 0 到 499 字节
+   * - bytes=500-: 第 500 字节到文件末尾
+   * - bytes=-500: 最后 500 字节
+   *
+   * @param rangeHeader Range 请求头
+   * @param fileSize    文件大小
+   * @return [start, end]（包含 end），区间无效时返回 null
+   */
+  static long[] parseRange(String rangeHeader, long fileSize) {
+    long[] fullRange = { 0, fileSize - 1 };
+    if (rangeHeader == null || !rangeHeader.startsWith("bytes=") || rangeHeader.contains(",")) {
+      return fullRange;
+    }
+
+    String spec = rangeHeader.substring("bytes=".length()).trim();
+    int dash = spec.indexOf('-');
+    if (dash < 0) {
+      return fullRange;
+    }
+
+    try {
+      String startPart = spec.substring(0, dash).trim();
+      String endPart = spec.substring(dash + 1).trim();
+      long start;
+      long end;
+      if (startPart.isEmpty()) {
+        // 最后 N 个字节
+        long suffixLength = Long.parseLong(endPart);
+        if (suffixLength <= 0) {
+          return null;
+        }
+        start = Math.max(fileSize - suffixLength, 0);
+        end = fileSize - 1;
+      } else {
+        start = Long.parseLong(startPart);
+        end = endPart.isEmpty() ? fileSize - 1 : Math.min(Long.parseLong(endPart), fileSize - 1);
+      }
+      if (start > end || start >= fileSize) {
+        return null;
+      }
+      return new long[] { start, end };
+    } catch (NumberFormatException e) {
+      return fullRange;
+    }
+  }
+}
@@ -1,22 +1,41 @@
 package org.example.helloworld.controller;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
 import java.util.List;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.example.helloworld.dto.PageDTO;
 import org.example.helloworld.entity.OrderEntity;
 import org.example.helloworld.service.OrderService;
+import org.example.helloworld.service.OrderStatsService;
 import org.example.helloworld.utils.BusinessCode;
 import org.example.helloworld.utils.Result;
+import org.example.helloworld.vo.OrderStatsVO;
+import org.example.helloworld.vo.PageVO;
+import org.springdoc.core.annotations.ParameterObject;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
+import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 /**
  * 订单控制器
  */
+@Slf4j
 @Tag(name = "订单管理", description = "订单查询相关接口")
 @RestController
 @RequestMapping("/order")
@@ -25,6 +44,12 @@ public class OrderController {
   @Autowired
   private OrderService orderService;
 
+  @Autowired
+  private OrderStatsService orderStatsService;
+
+  @Autowired
+  private ObjectMapper objectMapper;
+
   /**
    * 查询所有订单及其关联的用户
    * 
@@ -37,6 +62,93 @@ public class OrderController {
     return Result.ok(orders);
   }
 
+  /**
+   * 流式查询所有订单及其关联的用户
+   * 
+   * 响应格式与 /order/findAll 相同，但订单边查询边写出（分块传输），
+   * 服务端内存占用与订单总数无关，适合导出等需要全量数据的场景。
+   * 开始输出后查询失败时，data 数组照常闭合并在末尾追加 error 字段（code、message），
+   * 客户端看到 error 字段即表示数据不完整
+   * 
+   * @param response HTTP 响应对象
+   * @throws IOException 写出响应异常
+   */
+  @Operation(summary = "流式查询所有订单", description = "边查询边输出 JSON（分块传输），内存占用与订单总数无关")
+  @GetMapping("/findAll/stream")
+  public void findAllStream(HttpServletResponse response) throws IOException {
+    response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+    response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+
+    try (JsonGenerator generator = objectMapper.getFactory().createGenerator(response.getOutputStream())) {
+      generator.writeStartObject();
+      generator.writeNumberField("code", BusinessCode.SUCCESS.getCode());
+      generator.writeStringField("message", BusinessCode.SUCCESS.getMessage());
+      generator.writeArrayFieldStart("data");
+      try {
+        orderService.streamAllOrdersWithUsers(orders -> {
+          try {
+            for (OrderEntity order : orders) {
+              generator.writeObject(order);
+            }
+            // 每批写完刷新到客户端
+            generator.flush();
+          } catch (IOException e) {
+            throw new UncheckedIOException(e);
+          }
+        });
+      } catch (UncheckedIOException e) {
+        // 写出失败（通常是客户端断开），连接已不可用，无需再写错误标记
+        throw e.getCause();
+      } catch (RuntimeException e) {
+        // 响应头和部分订单可能已经发出，无法再改状态码：收尾 data 数组并追加 error 字段，
+        // 客户端据此判断数据不完整
+        log.error("流式查询订单中途失败", e);
+        generator.writeEndArray();
+        generator.writeObjectFieldStart("error");
+        generator.writeNumberField("code", BusinessCode.INTERNAL_ERROR.getCode());
+        generator.writeStringField("message", BusinessCode.INTERNAL_ERROR.getMessage());
+        generator.writeEndObject();
+        generator.writeEndObject();
+        return;
+      }
+      generator.writeEndArray();
+      generator.writeEndObject();
+    }
+  }
+
+  /**
+   * 分页查询订单及其关联的用户
+   * 
+   * @param dto 分页参数（pageNum、pageSize、sortField: id / order_time / total、sortOrder）
+   * @return 订单分页
+   */
+  @Operation(summary = "分页查询订单", description = "分页查询订单及其关联的用户，支持按 id、order_time、total 排序")
+  @GetMapping("/page")
+  public Result<PageVO<OrderEntity>> page(@Validated @ParameterObject PageDTO dto) {
+    return Result.ok(orderService.orderPage(dto));
+  }
+
+  /**
+   * 查询用户的订单统计
+   * 
+   * 数据来自订单写入时增量维护的汇总表，不扫描订单表
+   * 
+   * @param uid    用户ID
+   * @param bucket 趋势时间桶：day / month，不传则不返回趋势
+   * @param from   趋势开始日期（包含），默认结束日期前 29 天
+   * @param to     趋势结束日期（包含），默认今天
+   * @return 订单统计
+   */
+  @Operation(summary = "用户订单统计", description = "订单数、总额之和、最早 / 最晚订单时间，以及按天或按月的订单趋势")
+  @GetMapping("/stats")
+  public Result<OrderStatsVO> stats(
+      @Parameter(description = "用户ID", required = true) @RequestParam Integer uid,
+      @Parameter(description = "趋势时间桶：day / month") @RequestParam(required = false) String bucket,
+      @Parameter(description = "趋势开始日期，如 2025-11-01") @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+      @Parameter(description = "趋势结束日期，如 2025-11-30") @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+    return Result.ok(orderStatsService.getUserStats(uid, bucket, from, to));
+  }
+
   /**
    * 根据用户ID查询订单
    * 
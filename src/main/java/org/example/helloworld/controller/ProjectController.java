@@ -7,8 +7,6 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
 
-import com.baomidou.mybatisplus.core.metadata.IPage;
-
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Positive;
@@ -22,6 +20,9 @@ import org.example.helloworld.entity.ProjectEntity;
 import org.example.helloworld.service.ProjectService;
 import org.example.helloworld.utils.BusinessCode;
 import org.example.helloworld.utils.Result;
+import org.example.helloworld.vo.BatchCreateProjectItemVO;
+import org.example.helloworld.vo.BatchCreateProjectVO;
+import org.example.helloworld.vo.CursorPageVO;
 import org.example.helloworld.vo.PageVO;
 import org.springdoc.core.annotations.ParameterObject;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -71,7 +72,7 @@ public class ProjectController {
   @GetMapping
   public Result<PageVO<ProjectVO>> projectList(@Validated @ParameterObject ProjectListDTO dto) {
     // 调用 Service 层查询
-    IPage<ProjectEntity> projectPage = projectService.projectList(dto);
+    PageVO<ProjectEntity> projectPage = projectService.projectList(dto);
 
     // 转换为 VO
     List<ProjectVO> records = projectPage.getRecords().stream()
@@ -84,6 +85,44 @@ public class ProjectController {
         .pages(projectPage.getPages())
         .current(projectPage.getCurrent())
         .size(projectPage.getSize())
+        .approximate(projectPage.getApproximate())
+        .records(records)
+        .build();
+
+    return Result.ok(pageVO);
+  }
+
+  /**
+   * 游标分页查询项目列表（pageMode=cursor）
+   * 
+   * 第一页不传 cursor，之后每次把上一页返回的 nextCursor 原样传回，hasMore=false 时表示没有更多数据。
+   * 翻页期间不要修改 sortField / sortOrder，否则游标失效。
+   * 
+   * 支持的查询参数：
+   * - name / status / sortField / sortOrder / pageSize: 同页码分页（pageNum 不生效）
+   * - cursor: 上一页返回的 nextCursor
+   * - withTotal: 是否返回总记录数（默认 false，需要额外执行一次 COUNT 查询）
+   * 
+   * @param dto 查询条件 DTO
+   * @return 项目列表
+   */
+  @Operation(summary = "项目列表（游标分页）", description = "pageMode=cursor 时使用游标分页，深分页性能与第一页相同，总记录数可选", responses = {
+      @ApiResponse(responseCode = "200", description = "查询成功", content = @Content(schema = @Schema(implementation = ProjectCursorPageResult.class)))
+  })
+  @GetMapping(params = "pageMode=cursor")
+  public Result<CursorPageVO<ProjectVO>> projectCursorList(@Validated @ParameterObject ProjectListDTO dto) {
+    CursorPageVO<ProjectEntity> projectPage = projectService.projectCursorList(dto);
+
+    // 转换为 VO
+    List<ProjectVO> records = projectPage.getRecords().stream()
+        .map(ProjectVO::fromEntity)
+        .collect(Collectors.toList());
+
+    CursorPageVO<ProjectVO> pageVO = CursorPageVO.<ProjectVO>builder()
+        .nextCursor(projectPage.getNextCursor())
+        .hasMore(projectPage.getHasMore())
+        .size(projectPage.getSize())
+        .total(projectPage.getTotal())
         .records(records)
         .build();
 
@@ -132,6 +171,36 @@ public class ProjectController {
     return Result.ok("创建成功", projectVO);
   }
 
+  /**
+   * 批量创建项目（导入）
+   * 
+   * 每一行单独校验，校验失败或写入失败的行在 results 中返回原因，其余行照常创建；
+   * 单次最多 project.batch.maxSize 行
+   * 
+   * @param dtos 创建项目 DTO 列表
+   * @return 每一行的创建结果
+   */
+  @Operation(summary = "批量创建项目", description = "逐行校验，按批次使用 JDBC 批量插入，返回每一行的创建结果")
+  @PostMapping("/batch")
+  public Result<BatchCreateProjectVO> batchCreate(@RequestBody List<CreateProjectDTO> dtos) {
+    List<BatchCreateProjectItemVO> results = projectService.createProjects(dtos);
+
+    int count = (int) results.stream().filter(BatchCreateProjectItemVO::getSuccess).count();
+    int failedCount = results.size() - count;
+    BatchCreateProjectVO batchCreateVO = BatchCreateProjectVO.builder()
+        .count(count)
+        .failedCount(failedCount)
+        .results(results)
+        .build();
+
+    if (count == 0) {
+      return Result.fail(BusinessCode.OPERATION_FAILED, "批量创建失败：所有项目均创建失败", batchCreateVO);
+    }
+    String message = failedCount == 0 ? "批量创建成功"
+        : String.format("批量创建部分成功：成功 %d 个，失败 %d 个", count, failedCount);
+    return Result.ok(message, batchCreateVO);
+  }
+
   /**
    * 更新项目（部分更新）
    * 
@@ -149,14 +218,12 @@ public class ProjectController {
 
       @Valid @RequestBody UpdateProjectDTO dto) {
 
-    // Service 层会处理业务逻辑
-    boolean success = projectService.updateProject(id, dto);
-    if (!success) {
+    // Service 层会处理业务逻辑（返回更新后的项目，不需要再查询一次）
+    ProjectEntity updatedProject = projectService.updateProject(id, dto);
+    if (updatedProject == null) {
       return Result.fail(BusinessCode.PROJECT_NOT_FOUND, "项目不存在，ID: " + id);
     }
 
-    // 返回更新后的项目信息
-    ProjectEntity updatedProject = projectService.getById(id);
     ProjectVO projectVO = ProjectVO.fromEntity(updatedProject);
 
     return Result.ok("更新成功", projectVO);
@@ -215,6 +282,13 @@ public class ProjectController {
   private static class ProjectPageResult extends Result<PageVO<ProjectVO>> {
   }
 
+  /**
+   * 项目游标分页响应（用于 Swagger 文档展示）
+   */
+  @Schema(description = "项目游标分页响应")
+  private static class ProjectCursorPageResult extends Result<CursorPageVO<ProjectVO>> {
+  }
+
   /**
    * 项目详情响应（用于 Swagger 文档展示）
    */
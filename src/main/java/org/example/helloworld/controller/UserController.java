@@ -5,11 +5,16 @@ import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.extern.slf4j.Slf4j;
+import org.example.helloworld.audit.AuditEventType;
+import org.example.helloworld.audit.AuditLog;
 import org.example.helloworld.dto.LoginDTO;
 import org.example.helloworld.dto.RegisterDTO;
 import org.example.helloworld.entity.UserEntity;
+import org.example.helloworld.exception.BusinessException;
+import org.example.helloworld.loader.UserBatchLoader;
 import org.example.helloworld.service.UserService;
 import org.example.helloworld.utils.BusinessCode;
 import org.example.helloworld.utils.JwtUtil;
@@ -32,6 +37,12 @@ public class UserController {
     @Autowired
     private UserService userService;
 
+    @Autowired
+    private UserBatchLoader userBatchLoader;
+
+    @Autowired
+    private AuditLog auditLog;
+
     /**
      * 用户登录
      * 
@@ -42,13 +53,24 @@ public class UserController {
             @ApiResponse(responseCode = "200", description = "登录成功", content = @Content(schema = @Schema(implementation = LoginResult.class)))
     })
     @PostMapping("/login")
-    public Result<LoginVO> login(@Valid @RequestBody LoginDTO loginDTO) {
-        // 调用 service 层进行登录校验（参数验证已在 Controller 层完成）
-        String token = userService.login(loginDTO.getUsername(), loginDTO.getPassword());
+    public Result<LoginVO> login(@Valid @RequestBody LoginDTO loginDTO,
+            HttpServletRequest request) {
+        // 调用 service 层进行登录校验（参数验证已在 Controller 层完成），登录结果写入审计日志
+        String token;
+        try {
+            token = userService.login(loginDTO.getUsername(), loginDTO.getPassword());
+        } catch (BusinessException e) {
+            auditLog.record(AuditEventType.LOGIN_FAILED, request.getMethod(), request.getRequestURI(), null,
+                    loginDTO.getUsername(), request.getRemoteAddr(), 0, 0, e.getMessage());
+            throw e;
+        }
 
         // 从 token 中获取用户ID
         Integer userId = JwtUtil.getUserIdFromToken(token);
 
+        auditLog.record(AuditEventType.LOGIN_SUCCESS, request.getMethod(), request.getRequestURI(), userId,
+                loginDTO.getUsername(), request.getRemoteAddr(), 0, 0, null);
+
         // 构建响应 VO
         LoginVO loginVO = LoginVO.builder()
                 .token(token)
@@ -70,7 +92,7 @@ public class UserController {
             @ApiResponse(responseCode = "200", description = "查询成功", content = @Content(schema = @Schema(implementation = UserInfoResult.class)))
     })
     @GetMapping("/info")
-    public Result<UserInfoVO> info(jakarta.servlet.http.HttpServletRequest request) {
+    public Result<UserInfoVO> info(HttpServletRequest request) {
         // 从请求属性中获取用户ID（由拦截器设置）
         Integer userId = (Integer) request.getAttribute("userId");
 
@@ -78,8 +100,8 @@ public class UserController {
             return Result.fail(BusinessCode.INTERNAL_ERROR, "获取用户信息失败");
         }
 
-        // 根据用户ID查询用户信息
-        UserEntity user = userService.getById(userId);
+        // 根据用户ID查询用户信息（并发请求的查询合并为一次批量查询）
+        UserEntity user = userBatchLoader.load(userId);
         if (user == null) {
             return Result.fail(BusinessCode.USER_NOT_FOUND);
         }
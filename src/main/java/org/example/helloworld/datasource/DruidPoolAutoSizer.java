@@ -0,0 +1,104 @@
+package org.example.helloworld.datasource;
+
+import com.alibaba.druid.pool.DruidDataSource;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.example.helloworld.datasource.DruidPoolMetricsFilter.PoolWindow;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 根据获取连接的等待时间自动调整 Druid 连接池大小（datasource.autosize.enabled=true 时启用）
+ *
+ * 每 intervalSeconds 秒检查一次上一个窗口的统计（见 DruidPoolMetricsFilter）：
+ * - 平均等待时间超过 growWaitMillis：maxActive 增加 step，不超过 maxActiveUpper
+ * - 窗口内没有任何一次获取连接需要等待（连接池从未取空），且活跃连接峰值比 maxActive 小 2 个 step 以上：maxActive 减少 step，不低于 maxActiveLower 和 minIdle
+ *
+ * 上限应小于数据库的 max_connections 除以应用实例数
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "datasource.autosize.enabled", havingValue = "true")
+public class DruidPoolAutoSizer {
+
+  @Value("${datasource.autosize.intervalSeconds:10}")
+  private long intervalSeconds;
+
+  @Value("${datasource.autosize.maxActiveLower:10}")
+  private int maxActiveLower;
+
+  @Value("${datasource.autosize.maxActiveUpper:50}")
+  private int maxActiveUpper;
+
+  @Value("${datasource.autosize.step:2}")
+  private int step;
+
+  @Value("${datasource.autosize.growWaitMillis:5}")
+  private double growWaitMillis;
+
+  @Autowired
+  private DruidDataSource dataSource;
+
+  @Autowired
+  private DruidPoolMetricsFilter poolMetricsFilter;
+
+  private ScheduledExecutorService scheduler;
+
+  /** 上次检查时的累计等待次数（Druid 连接池为空、需要等待的获取次数） */
+  private long lastNotEmptyWaitCount;
+
+  @PostConstruct
+  public void start() {
+    lastNotEmptyWaitCount = dataSource.getNotEmptyWaitCount();
+    scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+      Thread thread = new Thread(runnable, "druid-autosize");
+      thread.setDaemon(true);
+      return thread;
+    });
+    scheduler.scheduleWithFixedDelay(this::adjust, intervalSeconds, intervalSeconds, TimeUnit.SECONDS);
+    log.info("连接池自动调整已启用：maxActive 范围 [{}, {}]，等待超过 {} 毫秒时扩容", maxActiveLower, maxActiveUpper,
+        growWaitMillis);
+  }
+
+  @PreDestroy
+  public void stop() {
+    scheduler.shutdownNow();
+  }
+
+  /**
+   * 根据上一个窗口的统计调整 maxActive
+   */
+  void adjust() {
+    try {
+      PoolWindow window = poolMetricsFilter.drainWindow();
+      long notEmptyWaitCount = dataSource.getNotEmptyWaitCount();
+      long waits = notEmptyWaitCount - lastNotEmptyWaitCount;
+      lastNotEmptyWaitCount = notEmptyWaitCount;
+
+      int current = dataSource.getMaxActive();
+      int lower = Math.max(maxActiveLower, dataSource.getMinIdle());
+      int target = current;
+
+      if (window.averageWaitMillis() >= growWaitMillis) {
+        target = Math.min(maxActiveUpper, current + step);
+      } else if (waits == 0 && window.peakActive() <= current - 2 * step) {
+        target = Math.max(lower, current - step);
+      }
+
+      if (target != current) {
+        dataSource.setMaxActive(target);
+        log.info("连接池 maxActive 调整：{} -> {}（窗口内获取 {} 次，平均等待 {} 毫秒，活跃峰值 {}）", current, target,
+            window.acquires(), String.format("%.2f", window.averageWaitMillis()), window.peakActive());
+      }
+    } catch (RuntimeException e) {
+      log.warn("连接池大小调整失败", e);
+    }
+  }
+}
@@ -0,0 +1,45 @@
+package org.example.helloworld.datasource;
+
+import com.alibaba.druid.pool.DruidDataSource;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * Druid 连接池指标（jdbc.connections.active / idle / max / min 见 DruidDataSourcePoolMetadata）
+ *
+ * - druid.pool.waiting: 当前等待连接的线程数
+ * - druid.pool.wait.count: 累计需要等待才获取到连接的次数
+ * - druid.pstmt.cache.hits / misses: PreparedStatement 缓存命中 / 未命中次数（命中率 = hits / (hits + misses)）
+ * - druid.pstmt.cache.size: 当前缓存的 PreparedStatement 数量
+ */
+public class DruidPoolMetrics implements MeterBinder {
+
+  private final DruidDataSource dataSource;
+
+  public DruidPoolMetrics(DruidDataSource dataSource) {
+    this.dataSource = dataSource;
+  }
+
+  @Override
+  public void bindTo(MeterRegistry registry) {
+    Gauge.builder("druid.pool.waiting", dataSource, DruidDataSource::getNotEmptyWaitThreadCount)
+        .description("当前等待连接的线程数")
+        .register(registry);
+    FunctionCounter.builder("druid.pool.wait.count", dataSource, DruidDataSource::getNotEmptyWaitCount)
+        .description("需要等待才获取到连接的次数")
+        .register(registry);
+    FunctionCounter.builder("druid.pstmt.cache.hits", dataSource,
+        DruidDataSource::getCachedPreparedStatementHitCount)
+        .description("PreparedStatement 缓存命中次数")
+        .register(registry);
+    FunctionCounter.builder("druid.pstmt.cache.misses", dataSource,
+        DruidDataSource::getCachedPreparedStatementMissCount)
+        .description("PreparedStatement 缓存未命中次数")
+        .register(registry);
+    Gauge.builder("druid.pstmt.cache.size", dataSource, DruidDataSource::getCachedPreparedStatementCount)
+        .description("当前缓存的 PreparedStatement 数量")
+        .register(registry);
+  }
+}
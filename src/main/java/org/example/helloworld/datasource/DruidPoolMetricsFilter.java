@@ -0,0 +1,83 @@
+package org.example.helloworld.datasource;
+
+import com.alibaba.druid.filter.FilterAdapter;
+import com.alibaba.druid.filter.FilterChain;
+import com.alibaba.druid.pool.DruidDataSource;
+import com.alibaba.druid.pool.DruidPooledConnection;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.sql.SQLException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Druid 获取连接耗时统计
+ *
+ * - 指标 druid.pool.acquire（Timer，带百分位和直方图）：从连接池获取连接的等待时间，
+ *   用来区分接口变慢是在等连接还是 SQL 本身慢（SQL 耗时见 SqlTimingInterceptor）
+ * - 同时按窗口累计获取次数、等待时间和活跃连接峰值，供 DruidPoolAutoSizer 调整连接池大小
+ */
+public class DruidPoolMetricsFilter extends FilterAdapter {
+
+  private final Timer acquireTimer;
+
+  private final LongAdder windowAcquires = new LongAdder();
+
+  private final LongAdder windowWaitNanos = new LongAdder();
+
+  private final AtomicInteger windowPeakActive = new AtomicInteger();
+
+  /**
+   * 一个统计窗口内的连接获取情况
+   *
+   * @param acquires   获取连接次数
+   * @param waitNanos  等待时间合计（纳秒）
+   * @param peakActive 活跃连接数峰值
+   */
+  public record PoolWindow(long acquires, long waitNanos, int peakActive) {
+
+    /**
+     * 平均等待时间（毫秒）
+     *
+     * @return 没有获取连接时返回 0
+     */
+    public double averageWaitMillis() {
+      return acquires == 0 ? 0 : (double) waitNanos / acquires / 1_000_000;
+    }
+  }
+
+  public DruidPoolMetricsFilter(MeterRegistry meterRegistry) {
+    this.acquireTimer = Timer.builder("druid.pool.acquire")
+        .description("从连接池获取连接的等待时间")
+        .publishPercentiles(0.5, 0.95, 0.99)
+        .publishPercentileHistogram()
+        .register(meterRegistry);
+  }
+
+  @Override
+  public DruidPooledConnection dataSource_getConnection(FilterChain chain, DruidDataSource dataSource,
+      long maxWaitMillis) throws SQLException {
+    long start = System.nanoTime();
+    try {
+      return super.dataSource_getConnection(chain, dataSource, maxWaitMillis);
+    } finally {
+      long waitNanos = System.nanoTime() - start;
+      acquireTimer.record(waitNanos, TimeUnit.NANOSECONDS);
+      windowAcquires.increment();
+      windowWaitNanos.add(waitNanos);
+      windowPeakActive.accumulateAndGet(dataSource.getActiveCount(), Math::max);
+    }
+  }
+
+  /**
+   * 取出当前窗口的统计并开始新窗口
+   *
+   * @return 当前窗口的统计
+   */
+  public PoolWindow drainWindow() {
+    return new PoolWindow(windowAcquires.sumThenReset(), windowWaitNanos.sumThenReset(),
+        windowPeakActive.getAndSet(0));
+  }
+}
@@ -0,0 +1,243 @@
+package org.example.helloworld.datasource;
+
+import com.alibaba.druid.pool.DruidDataSource;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.SQLSyntaxErrorException;
+import java.sql.Statement;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 读写分离数据源
+ *
+ * 路由规则（在获取物理连接时决定，外层需要用 LazyConnectionDataSourceProxy 包装，
+ * 保证事务开始时只读标记已经设置好）：
+ * - 只读事务（@Transactional(readOnly = true)）：轮询可用的从库。
+ *   查询方法使用 propagation = SUPPORTS + readOnly，没有外层事务时不开启数据库事务，只设置只读标记，
+ *   不增加 BEGIN / COMMIT 等额外的往返；在读写事务中调用时加入外层事务，仍走主库
+ * - 其他（读写事务、无事务的 SQL）：主库
+ * - 当前客户端最近写入过（见 ReadYourWrites）：主库
+ * - 没有可用的从库：主库
+ *
+ * 后台线程每 lagCheckIntervalSeconds 秒检查一次各从库的复制延迟（SHOW REPLICA STATUS，旧版本 SHOW SLAVE STATUS），
+ * 连接失败、复制中断或延迟超过 maxLagSeconds 的从库暂停使用，恢复后自动加回。
+ * 检查在后台线程中进行，不阻塞启动；第一次检查完成前只读事务也走主库
+ */
+@Slf4j
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource implements DisposableBean {
+
+  private static final String PRIMARY = "primary";
+
+  /** 从库不支持查询复制状态（如本地测试用的独立实例），按没有延迟处理 */
+  private static final long LAG_UNSUPPORTED = -2;
+
+  /** 复制中断（Seconds_Behind_Source 为 NULL） */
+  private static final long LAG_BROKEN = -1;
+
+  private final DataSource primary;
+
+  private final List<Replica> replicas;
+
+  private final ReadYourWrites readYourWrites;
+
+  private final long maxLagSeconds;
+
+  private final long lagCheckIntervalSeconds;
+
+  private final AtomicInteger nextReplica = new AtomicInteger();
+
+  private final Counter replicaReads;
+
+  private final Counter primaryReads;
+
+  private ScheduledExecutorService scheduler;
+
+  /**
+   * @param primary                 主库
+   * @param replicas                从库连接池
+   * @param readYourWrites          读己之写
+   * @param maxLagSeconds           复制延迟上限（秒）
+   * @param lagCheckIntervalSeconds 复制延迟检查间隔（秒）
+   * @param meterRegistry           指标注册表
+   */
+  public ReadWriteRoutingDataSource(DataSource primary, List<DruidDataSource> replicas, ReadYourWrites readYourWrites,
+      long maxLagSeconds, long lagCheckIntervalSeconds, MeterRegistry meterRegistry) {
+    this.primary = primary;
+    this.replicas = replicas.stream().map(Replica::new).toList();
+    this.readYourWrites = readYourWrites;
+    this.maxLagSeconds = maxLagSeconds;
+    this.lagCheckIntervalSeconds = lagCheckIntervalSeconds;
+
+    this.replicaReads = Counter.builder("datasource.routing.reads").tag("target", "replica")
+        .description("只读事务路由到从库的次数").register(meterRegistry);
+    this.primaryReads = Counter.builder("datasource.routing.reads").tag("target", "primary")
+        .description("只读事务路由到主库的次数（读己之写或没有可用的从库）").register(meterRegistry);
+    for (Replica replica : this.replicas) {
+      Gauge.builder("datasource.replica.lag", replica, r -> r.lagSeconds)
+          .tag("replica", replica.name)
+          .description("从库复制延迟（秒），-1 表示复制中断或无法连接")
+          .register(meterRegistry);
+      Gauge.builder("datasource.replica.available", replica, r -> r.available ? 1 : 0)
+          .tag("replica", replica.name)
+          .description("从库是否可用于只读事务")
+          .register(meterRegistry);
+    }
+  }
+
+  @Override
+  public void afterPropertiesSet() {
+    Map<Object, Object> targets = new HashMap<>();
+    targets.put(PRIMARY, primary);
+    for (Replica replica : replicas) {
+      targets.put(replica.name, replica.dataSource);
+    }
+    setTargetDataSources(targets);
+    setDefaultTargetDataSource(primary);
+    super.afterPropertiesSet();
+
+    scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+      Thread thread = new Thread(runnable, "replica-lag-check");
+      thread.setDaemon(true);
+      return thread;
+    });
+    scheduler.scheduleWithFixedDelay(this::checkReplicas, 0, lagCheckIntervalSeconds, TimeUnit.SECONDS);
+    log.info("读写分离已启用：{} 个从库，复制延迟上限 {} 秒", replicas.size(), maxLagSeconds);
+  }
+
+  @Override
+  public void destroy() {
+    if (scheduler != null) {
+      scheduler.shutdownNow();
+    }
+    for (Replica replica : replicas) {
+      replica.dataSource.close();
+    }
+  }
+
+  @Override
+  protected Object determineCurrentLookupKey() {
+    if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+      return PRIMARY;
+    }
+    if (!readYourWrites.isPinnedToPrimary()) {
+      int size = replicas.size();
+      int start = Math.floorMod(nextReplica.getAndIncrement(), size);
+      for (int i = 0; i < size; i++) {
+        Replica replica = replicas.get((start + i) % size);
+        if (replica.available) {
+          replicaReads.increment();
+          return replica.name;
+        }
+      }
+    }
+    primaryReads.increment();
+    return PRIMARY;
+  }
+
+  /**
+   * 检查所有从库的复制延迟，更新可用状态
+   */
+  void checkReplicas() {
+    for (Replica replica : replicas) {
+      long lag;
+      try {
+        lag = readLag(replica);
+      } catch (SQLException | RuntimeException e) {
+        lag = LAG_BROKEN;
+        if (replica.available) {
+          log.warn("从库 {} 检查失败：{}", replica.name, e.getMessage());
+        }
+      }
+      if (lag == LAG_UNSUPPORTED) {
+        lag = 0;
+      }
+      boolean available = lag != LAG_BROKEN && lag <= maxLagSeconds;
+      if (available && !replica.available) {
+        log.info("从库 {} 可用（复制延迟 {} 秒）", replica.name, lag);
+      } else if (!available && replica.available) {
+        log.warn("从库 {} 暂停使用（复制延迟 {}）", replica.name, lag == LAG_BROKEN ? "未知" : lag + " 秒");
+      }
+      replica.lagSeconds = lag;
+      replica.available = available;
+    }
+  }
+
+  /**
+   * 查询从库的复制延迟
+   *
+   * @param replica 从库
+   * @return 延迟秒数；LAG_BROKEN 表示复制中断；LAG_UNSUPPORTED 表示无法查询复制状态
+   */
+  private long readLag(Replica replica) throws SQLException {
+    try (Connection connection = replica.dataSource.getConnection();
+        Statement statement = connection.createStatement()) {
+      for (String sql : new String[] { "SHOW REPLICA STATUS", "SHOW SLAVE STATUS" }) {
+        try (ResultSet resultSet = statement.executeQuery(sql)) {
+          if (!resultSet.next()) {
+            // 不是从库（如本地测试时用另一个独立实例代替从库）
+            return 0;
+          }
+          long lag = resultSet.getLong(lagColumn(resultSet.getMetaData()));
+          return resultSet.wasNull() ? LAG_BROKEN : lag;
+        } catch (SQLSyntaxErrorException e) {
+          // MySQL 8.0.22 之前没有 SHOW REPLICA STATUS，继续尝试旧语法
+        }
+      }
+    }
+    if (!replica.lagUnsupportedLogged) {
+      replica.lagUnsupportedLogged = true;
+      log.warn("从库 {} 不支持查询复制状态，按没有延迟处理", replica.name);
+    }
+    return LAG_UNSUPPORTED;
+  }
+
+  private static int lagColumn(ResultSetMetaData metaData) throws SQLException {
+    for (int i = 1; i <= metaData.getColumnCount(); i++) {
+      String column = metaData.getColumnLabel(i);
+      if ("Seconds_Behind_Source".equalsIgnoreCase(column) || "Seconds_Behind_Master".equalsIgnoreCase(column)) {
+        return i;
+      }
+    }
+    throw new SQLException("复制状态中没有 Seconds_Behind_Source 列");
+  }
+
+  /**
+   * 从库及其状态
+   */
+  private static final class Replica {
+
+    private final String name;
+
+    private final DruidDataSource dataSource;
+
+    /** 复制延迟（秒），-1 表示复制中断或无法连接 */
+    private volatile long lagSeconds = LAG_BROKEN;
+
+    /** 第一次检查完成前不可用 */
+    private volatile boolean available;
+
+    private boolean lagUnsupportedLogged;
+
+    private Replica(DruidDataSource dataSource) {
+      this.name = dataSource.getName();
+      this.dataSource = dataSource;
+    }
+  }
+}
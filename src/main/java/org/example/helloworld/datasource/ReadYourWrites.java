@@ -0,0 +1,71 @@
+package org.example.helloworld.datasource;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.time.Duration;
+
+/**
+ * 读己之写（read-your-writes）
+ *
+ * 从库有复制延迟，客户端写入后马上读取可能读不到自己刚写的数据。
+ * 每个请求开始时登记客户端标识（用户ID，未登录时为客户端地址），该客户端执行写 SQL 后的 stickyMillis 毫秒内，
+ * 它的只读事务也在主库上执行（包括同一请求中写入之后的读取）。
+ *
+ * 没有登记客户端的线程（后台任务等）不做固定，只读事务照常路由到从库
+ */
+public class ReadYourWrites {
+
+  /** 最近写入过的客户端，写入后 stickyMillis 毫秒过期 */
+  private final Cache<String, Boolean> recentWriters;
+
+  /** 当前线程正在处理的请求的客户端标识 */
+  private final ThreadLocal<String> currentClient = new ThreadLocal<>();
+
+  /**
+   * @param stickyMillis 写入后固定读主库的时长（毫秒）
+   * @param maxClients   同时记录的客户端数上限
+   */
+  public ReadYourWrites(long stickyMillis, long maxClients) {
+    this.recentWriters = Caffeine.newBuilder()
+        .maximumSize(maxClients)
+        .expireAfterWrite(Duration.ofMillis(stickyMillis))
+        .build();
+  }
+
+  /**
+   * 请求开始：登记当前线程的客户端
+   *
+   * @param clientKey 客户端标识
+   */
+  public void begin(String clientKey) {
+    currentClient.set(clientKey);
+  }
+
+  /**
+   * 请求结束：清除当前线程的客户端
+   */
+  public void end() {
+    currentClient.remove();
+  }
+
+  /**
+   * 当前客户端执行了写 SQL
+   */
+  public void markWrite() {
+    String clientKey = currentClient.get();
+    if (clientKey != null) {
+      recentWriters.put(clientKey, Boolean.TRUE);
+    }
+  }
+
+  /**
+   * 当前客户端是否需要读主库
+   *
+   * @return 最近 stickyMillis 毫秒内写入过时返回 true
+   */
+  public boolean isPinnedToPrimary() {
+    String clientKey = currentClient.get();
+    return clientKey != null && recentWriters.getIfPresent(clientKey) != null;
+  }
+}
@@ -0,0 +1,91 @@
+package org.example.helloworld.datasource;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.ibatis.cache.CacheKey;
+import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.plugin.Interceptor;
+import org.apache.ibatis.plugin.Intercepts;
+import org.apache.ibatis.plugin.Invocation;
+import org.apache.ibatis.plugin.Signature;
+import org.apache.ibatis.session.ResultHandler;
+import org.apache.ibatis.session.RowBounds;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * SQL 耗时统计和慢 SQL 记录（MyBatis 插件）
+ *
+ * - 指标 mybatis.statement（Timer）：按 Mapper 方法（statement，如 ProjectMapper.selectList）和类型（type）统计耗时，
+ *   包含执行 SQL 和映射结果，不包含获取连接的等待时间（见 druid.pool.acquire）
+ * - 超过 slowSqlMillis 的 SQL 输出 WARN 日志（只输出 SQL 文本，不输出参数），并计数 mybatis.statement.slow
+ */
+@Slf4j
+@Intercepts({
+    @Signature(type = Executor.class, method = "query", args = { MappedStatement.class, Object.class,
+        RowBounds.class, ResultHandler.class }),
+    @Signature(type = Executor.class, method = "query", args = { MappedStatement.class, Object.class,
+        RowBounds.class, ResultHandler.class, CacheKey.class, BoundSql.class }),
+    @Signature(type = Executor.class, method = "update", args = { MappedStatement.class, Object.class })
+})
+public class SqlTimingInterceptor implements Interceptor {
+
+  private final MeterRegistry meterRegistry;
+
+  private final long slowSqlMillis;
+
+  public SqlTimingInterceptor(MeterRegistry meterRegistry, long slowSqlMillis) {
+    this.meterRegistry = meterRegistry;
+    this.slowSqlMillis = slowSqlMillis;
+  }
+
+  @Override
+  public Object intercept(Invocation invocation) throws Throwable {
+    long start = System.nanoTime();
+    try {
+      return invocation.proceed();
+    } finally {
+      long elapsedNanos = System.nanoTime() - start;
+      Object[] args = invocation.getArgs();
+      MappedStatement mappedStatement = (MappedStatement) args[0];
+      String statement = shortId(mappedStatement.getId());
+      String type = mappedStatement.getSqlCommandType().name().toLowerCase();
+
+      Timer.builder("mybatis.statement")
+          .description("Mapper 方法执行耗时")
+          .tag("statement", statement)
+          .tag("type", type)
+          .publishPercentiles(0.5, 0.95, 0.99)
+          .register(meterRegistry)
+          .record(elapsedNanos, TimeUnit.NANOSECONDS);
+
+      long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(elapsedNanos);
+      if (elapsedMillis >= slowSqlMillis) {
+        Counter.builder("mybatis.statement.slow")
+            .description("慢 SQL 次数")
+            .tag("statement", statement)
+            .register(meterRegistry)
+            .increment();
+        BoundSql boundSql = args.length == 6 ? (BoundSql) args[5] : mappedStatement.getBoundSql(args[1]);
+        log.warn("慢 SQL：{} 耗时 {} 毫秒，SQL：{}", statement, elapsedMillis,
+            boundSql.getSql().replaceAll("\\s+", " "));
+      }
+    }
+  }
+
+  /**
+   * 去掉包名：org.example.helloworld.mapper.ProjectMapper.selectList -> ProjectMapper.selectList
+   *
+   * @param id MappedStatement ID
+   * @return 简短的 statement 名称
+   */
+  private String shortId(String id) {
+    int methodDot = id.lastIndexOf('.');
+    int classDot = methodDot > 0 ? id.lastIndexOf('.', methodDot - 1) : -1;
+    return classDot >= 0 ? id.substring(classDot + 1) : id;
+  }
+}
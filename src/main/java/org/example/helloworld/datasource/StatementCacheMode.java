@@ -0,0 +1,43 @@
+package org.example.helloworld.datasource;
+
+import java.util.Properties;
+
+/**
+ * MySQL 驱动的 PreparedStatement 缓存模式（datasource.statementCache.mode）
+ *
+ * MyBatis-Plus 的 Wrapper 查询每次都生成相同的 SQL 文本，这些缓存让同一连接上重复的 SQL 不再重新解析 / 预编译：
+ * - none: 不启用驱动缓存（只有 Druid 的 pool-prepared-statements 缓存）
+ * - client: 客户端预编译（useServerPrepStmts=false）+ 缓存 SQL 解析结果（cachePrepStmts），数据库每次仍执行普通查询
+ * - server: 服务端预编译（useServerPrepStmts=true）+ 缓存服务端语句句柄，数据库对同一 SQL 只 PREPARE 一次，之后只 EXECUTE
+ *
+ * 只对 MySQL 连接生效（jdbc:mysql:），其他驱动忽略
+ */
+public enum StatementCacheMode {
+
+  NONE,
+
+  CLIENT,
+
+  SERVER;
+
+  /**
+   * 对应的 MySQL Connector/J 连接属性
+   *
+   * @param cacheSize 每个连接缓存的语句数（prepStmtCacheSize）
+   * @param sqlLimit  可缓存的最大 SQL 长度（prepStmtCacheSqlLimit）
+   * @return 连接属性
+   */
+  public Properties toDriverProperties(int cacheSize, int sqlLimit) {
+    Properties properties = new Properties();
+    if (this == NONE) {
+      properties.setProperty("cachePrepStmts", "false");
+      properties.setProperty("useServerPrepStmts", "false");
+      return properties;
+    }
+    properties.setProperty("cachePrepStmts", "true");
+    properties.setProperty("prepStmtCacheSize", String.valueOf(cacheSize));
+    properties.setProperty("prepStmtCacheSqlLimit", String.valueOf(sqlLimit));
+    properties.setProperty("useServerPrepStmts", String.valueOf(this == SERVER));
+    return properties;
+  }
+}
@@ -0,0 +1,32 @@
+package org.example.helloworld.datasource;
+
+import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.plugin.Interceptor;
+import org.apache.ibatis.plugin.Intercepts;
+import org.apache.ibatis.plugin.Invocation;
+import org.apache.ibatis.plugin.Signature;
+
+/**
+ * 记录写 SQL（MyBatis 插件，读写分离时启用）
+ *
+ * INSERT / UPDATE / DELETE 执行后（无论成功与否）标记当前客户端最近写入过，见 ReadYourWrites
+ */
+@Intercepts(@Signature(type = Executor.class, method = "update", args = { MappedStatement.class, Object.class }))
+public class WriteTrackingInterceptor implements Interceptor {
+
+  private final ReadYourWrites readYourWrites;
+
+  public WriteTrackingInterceptor(ReadYourWrites readYourWrites) {
+    this.readYourWrites = readYourWrites;
+  }
+
+  @Override
+  public Object intercept(Invocation invocation) throws Throwable {
+    try {
+      return invocation.proceed();
+    } finally {
+      readYourWrites.markWrite();
+    }
+  }
+}
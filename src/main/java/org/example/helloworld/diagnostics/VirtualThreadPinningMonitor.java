@@ -0,0 +1,132 @@
+package org.example.helloworld.diagnostics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+/**
+ * 虚拟线程 pinning 监控（只在 spring.threads.virtual.enabled=true 时启用）
+ *
+ * 虚拟线程在 synchronized 块内或 native 方法中阻塞时无法卸载，会一直占用载体线程（pinning），
+ * 载体线程数只有 CPU 核数，Druid、OSS SDK 等三方库里的 synchronized 可能让虚拟线程退化为很小的线程池。
+ *
+ * 通过 JFR 事件流订阅 jdk.VirtualThreadPinned（阻塞超过 vthreads.pinning.thresholdMillis 的 pinning）：
+ * - 每个新的 pinning 位置（调用栈）第一次出现时输出 WARN 日志和调用栈，之后只计数
+ * - 应用启动完成时输出启动期间（Druid 初始化等）的 pinning 汇总
+ * - 指标 jvm.threads.virtual.pinned（Timer）：pinning 次数和阻塞时长
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "spring.threads.virtual.enabled", havingValue = "true")
+public class VirtualThreadPinningMonitor {
+
+  private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+
+  /** 只记录阻塞超过该时长的 pinning（毫秒） */
+  @Value("${vthreads.pinning.thresholdMillis:20}")
+  private long thresholdMillis;
+
+  /** 日志和汇总中输出的调用栈深度 */
+  @Value("${vthreads.pinning.stackDepth:12}")
+  private int stackDepth;
+
+  @Autowired
+  private MeterRegistry meterRegistry;
+
+  /** pinning 位置（调用栈） -> 次数 */
+  private final Map<String, LongAdder> pinnedSites = new ConcurrentHashMap<>();
+
+  private RecordingStream recordingStream;
+
+  private Timer pinnedTimer;
+
+  @PostConstruct
+  public void start() {
+    pinnedTimer = Timer.builder("jvm.threads.virtual.pinned")
+        .description("虚拟线程阻塞时占用载体线程（pinning）的次数和时长")
+        .register(meterRegistry);
+
+    recordingStream = new RecordingStream();
+    recordingStream.enable(PINNED_EVENT).withThreshold(Duration.ofMillis(thresholdMillis)).withStackTrace();
+    recordingStream.onEvent(PINNED_EVENT, this::onPinned);
+    recordingStream.startAsync();
+    log.info("虚拟线程 pinning 监控已启动，阈值 {} 毫秒", thresholdMillis);
+  }
+
+  @PreDestroy
+  public void stop() {
+    if (recordingStream != null) {
+      recordingStream.close();
+    }
+  }
+
+  /**
+   * 启动完成时输出启动期间的 pinning 汇总
+   */
+  @EventListener(ApplicationReadyEvent.class)
+  public void reportStartup() {
+    if (pinnedSites.isEmpty()) {
+      log.info("启动期间未发现超过 {} 毫秒的虚拟线程 pinning", thresholdMillis);
+      return;
+    }
+    String summary = pinnedSites.entrySet().stream()
+        .map(entry -> "次数 " + entry.getValue().sum() + "：\n" + entry.getKey())
+        .collect(Collectors.joining("\n\n"));
+    log.warn("启动期间发现 {} 处虚拟线程 pinning：\n{}", pinnedSites.size(), summary);
+  }
+
+  /**
+   * 处理一次 pinning 事件
+   *
+   * @param event jdk.VirtualThreadPinned 事件
+   */
+  private void onPinned(RecordedEvent event) {
+    pinnedTimer.record(event.getDuration());
+
+    String site = formatStackTrace(event.getStackTrace());
+    LongAdder counter = pinnedSites.computeIfAbsent(site, key -> new LongAdder());
+    counter.increment();
+    if (counter.sum() == 1) {
+      String thread = event.getThread() != null ? event.getThread().getJavaName() : "unknown";
+      log.warn("虚拟线程 pinning：线程 {} 占用载体线程 {} 毫秒，调用栈：\n{}", thread,
+          event.getDuration().toMillis(), site);
+    }
+  }
+
+  /**
+   * 格式化调用栈（最多 stackDepth 层）
+   *
+   * @param stackTrace JFR 调用栈
+   * @return 每行一层的调用栈
+   */
+  private String formatStackTrace(RecordedStackTrace stackTrace) {
+    if (stackTrace == null) {
+      return "\t(无调用栈)";
+    }
+    List<RecordedFrame> frames = stackTrace.getFrames();
+    return frames.stream()
+        .limit(stackDepth)
+        .map(frame -> "\tat " + frame.getMethod().getType().getName() + "." + frame.getMethod().getName()
+            + (frame.getLineNumber() > 0 ? ":" + frame.getLineNumber() : ""))
+        .collect(Collectors.joining("\n"));
+  }
+}
@@ -2,6 +2,7 @@ package org.example.helloworld.dto;
 
 import io.swagger.v3.oas.annotations.media.Schema;
 import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
 import lombok.Data;
 
 /**
@@ -17,6 +18,7 @@ public class CreateProjectDTO {
      */
     @Schema(description = "项目名称", example = "电商平台项目", requiredMode = Schema.RequiredMode.REQUIRED)
     @NotBlank(message = "项目名称不能为空")
+    @Size(max = 100, message = "项目名称不能超过100个字符")
     private String name;
 
     /**
@@ -24,11 +26,13 @@ public class CreateProjectDTO {
      */
     @Schema(description = "项目状态", example = "进行中", requiredMode = Schema.RequiredMode.REQUIRED)
     @NotBlank(message = "项目状态不能为空")
+    @Size(max = 20, message = "项目状态不能超过20个字符")
     private String status;
 
     /**
      * 项目封面
      */
     @Schema(description = "项目封面URL", example = "https://example.com/cover.jpg")
+    @Size(max = 255, message = "项目封面URL不能超过255个字符")
     private String cover;
 }
@@ -23,4 +23,23 @@ public class ProjectListDTO extends PageDTO {
    */
   @Schema(description = "项目状态", example = "进行中", allowableValues = { "进行中", "已完成" })
   private String status;
+
+  /**
+   * 分页模式：offset（默认，按页码分页）或 cursor（游标分页）
+   */
+  @Schema(description = "分页模式：offset 按页码分页，cursor 游标分页（深分页性能与第一页相同）", example = "cursor", allowableValues = {
+      "offset", "cursor" }, defaultValue = "offset")
+  private String pageMode = "offset";
+
+  /**
+   * 游标（cursor 模式用），取上一页返回的 nextCursor，第一页不传
+   */
+  @Schema(description = "游标（cursor 模式），取上一页返回的 nextCursor，第一页不传")
+  private String cursor;
+
+  /**
+   * 是否返回总记录数（cursor 模式用），需要额外执行一次 COUNT 查询
+   */
+  @Schema(description = "是否返回总记录数（cursor 模式），需要额外执行一次 COUNT 查询", example = "false", defaultValue = "false")
+  private Boolean withTotal = false;
 }
@@ -3,6 +3,7 @@ package org.example.helloworld.dto;
 import io.swagger.v3.oas.annotations.media.Schema;
 import jakarta.validation.constraints.NotBlank;
 import lombok.Data;
+import org.example.helloworld.security.BcryptPassword;
 
 /**
  * 注册请求 DTO
@@ -20,10 +21,11 @@ public class RegisterDTO {
     private String username;
 
     /**
-     * 密码
+     * 密码（UTF-8 编码后不超过 72 字节，BCrypt 的长度上限）
      */
-    @Schema(description = "密码", example = "123456", requiredMode = Schema.RequiredMode.REQUIRED)
+    @Schema(description = "密码，最多 72 字节", example = "123456", requiredMode = Schema.RequiredMode.REQUIRED)
     @NotBlank(message = "密码不能为空")
+    @BcryptPassword
     private String password;
 }
 
@@ -58,6 +58,13 @@ public class UpdateProjectDTO {
      */
     private transient boolean coverSet = false;
 
+    /**
+     * 版本号（可选，开启 project.update.optimisticLock 时生效）
+     * 传入时只有当前版本号与之相同才会更新，否则返回 20002；不传时直接更新
+     */
+    @Schema(description = "版本号（可选）。与项目当前版本不一致时更新失败（20002），版本号见项目详情", example = "3")
+    private Integer version;
+
     /**
      * 自定义 setter，用于标记 cover 字段是否被设置
      * 
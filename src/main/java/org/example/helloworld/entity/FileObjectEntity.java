@@ -0,0 +1,37 @@
+package org.example.helloworld.entity;
+
+import com.baomidou.mybatisplus.annotation.IdType;
+import com.baomidou.mybatisplus.annotation.TableField;
+import com.baomidou.mybatisplus.annotation.TableId;
+import com.baomidou.mybatisplus.annotation.TableName;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+/**
+ * 文件对象实体类（内容去重索引）
+ * 相同内容（SHA-256 相同）的文件只存储一份，ref_count 记录引用次数
+ */
+@Data
+@TableName("file_object")
+public class FileObjectEntity {
+    /** 主键，自增 */
+    @TableId(type = IdType.AUTO)
+    private Integer id;
+
+    /** 文件内容的 SHA-256（十六进制），唯一索引 */
+    private String contentHash;
+
+    /** 存储后端中的对象名，如 uploads/2025/11/03/xxx.jpg */
+    private String objectName;
+
+    /** 文件大小（字节） */
+    private Long size;
+
+    /** 引用次数（引用该文件的用户数，见 file_object_ref），为 0 时删除存储中的文件 */
+    private Integer refCount;
+
+    /** 创建时间 */
+    @TableField(value = "create_time", update = "false")
+    private LocalDateTime createTime;
+}
@@ -0,0 +1,26 @@
+package org.example.helloworld.entity;
+
+import lombok.Data;
+
+import java.time.LocalDate;
+
+/**
+ * 用户每日订单汇总实体类
+ * 对应表 order_daily_stats，主键为 (uid, stat_date)，订单写入时增量更新，用于按天 / 按月的订单趋势
+ * MyBatis-Plus 不支持联合主键，这里不是 MyBatis-Plus 实体（没有 @TableName / @TableId），
+ * 只作为 OrderDailyStatsMapper 中 SQL 的结果类型
+ */
+@Data
+public class OrderDailyStatsEntity {
+    /** 用户ID */
+    private Integer uid;
+
+    /** 日期（按订单时间所在的天） */
+    private LocalDate statDate;
+
+    /** 订单数 */
+    private Long orderCount;
+
+    /** 订单总额之和 */
+    private Long totalSum;
+}
@@ -0,0 +1,32 @@
+package org.example.helloworld.entity;
+
+import com.baomidou.mybatisplus.annotation.IdType;
+import com.baomidou.mybatisplus.annotation.TableId;
+import com.baomidou.mybatisplus.annotation.TableName;
+import lombok.Data;
+
+import java.util.Date;
+
+/**
+ * 用户订单汇总实体类
+ * 每个用户一行，订单写入时增量更新（见 OrderStatsService），查询统计时不需要扫描订单表
+ */
+@Data
+@TableName("order_user_stats")
+public class OrderUserStatsEntity {
+    /** 用户ID，主键 */
+    @TableId(type = IdType.INPUT)
+    private Integer uid;
+
+    /** 订单数 */
+    private Long orderCount;
+
+    /** 订单总额之和 */
+    private Long totalSum;
+
+    /** 最早的订单时间 */
+    private Date minOrderTime;
+
+    /** 最晚的订单时间 */
+    private Date maxOrderTime;
+}
@@ -1,5 +1,6 @@
 package org.example.helloworld.entity;
 
+import com.baomidou.mybatisplus.annotation.FieldStrategy;
 import com.baomidou.mybatisplus.annotation.IdType;
 import com.baomidou.mybatisplus.annotation.TableField;
 import com.baomidou.mybatisplus.annotation.TableId;
@@ -28,4 +29,8 @@ public class ProjectEntity {
     @TableField(value = "create_time", update = "false") // 更新时不修改此字段
     private LocalDateTime createTime;
 
+    /** 乐观锁版本号（project.update.optimisticLock=true 时使用，需要 version 列；默认查询、插入、更新都不包含该列） */
+    @TableField(select = false, insertStrategy = FieldStrategy.NEVER, updateStrategy = FieldStrategy.NEVER)
+    private Integer version;
+
 }
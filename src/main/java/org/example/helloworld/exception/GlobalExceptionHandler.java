@@ -1,5 +1,6 @@
 package org.example.helloworld.exception;
 
+import lombok.extern.slf4j.Slf4j;
 import org.example.helloworld.utils.BusinessCode;
 import org.example.helloworld.utils.Result;
 import org.springframework.core.Ordered;
@@ -38,6 +39,7 @@ import java.util.stream.Collectors;
  * - 业务错误：code 1xxxx/2xxxx/3xxxx
  * - 系统错误：code 5xxxx
  */
+@Slf4j
 @RestControllerAdvice
 @Order(Ordered.HIGHEST_PRECEDENCE)
 public class GlobalExceptionHandler {
@@ -401,9 +403,7 @@ public class GlobalExceptionHandler {
         @ResponseStatus(HttpStatus.OK)
         public Result<Void> handleException(Exception e) {
                 // 记录日志
-                System.err.println("系统异常: " + e.getClass().getName() + " - " +
-                                e.getMessage());
-                e.printStackTrace();
+                log.error("系统异常: {} - {}", e.getClass().getName(), e.getMessage(), e);
 
                 return Result.fail(BusinessCode.INTERNAL_ERROR);
         }
@@ -1,20 +1,59 @@
 package org.example.helloworld.interceptor;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import org.example.helloworld.audit.AuditEventType;
+import org.example.helloworld.audit.AuditLog;
 import org.example.helloworld.utils.BusinessCode;
+import org.example.helloworld.utils.JwtPrincipal;
 import org.example.helloworld.utils.JwtUtil;
 import org.example.helloworld.utils.Result;
 import org.springframework.web.servlet.HandlerInterceptor;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 
+import java.util.EnumMap;
+import java.util.Map;
+
 /**
  * 登录认证拦截器
  * 验证请求头中的 Token 是否有效
  * 返回：HTTP 200 + 业务code
+ * 
+ * 认证失败和已认证请求的访问日志写入 AuditLog（异步，不阻塞请求线程）
+ * 认证失败的响应体在创建拦截器时用 Spring 的 ObjectMapper 预先序列化为 UTF-8 字节，拒绝请求时直接写出
  */
 public class LoginInterceptor implements HandlerInterceptor {
 
+    /** 请求开始时间（纳秒）的请求属性名 */
+    private static final String START_NANOS_ATTR = LoginInterceptor.class.getName() + ".startNanos";
+
+    /** 错误响应的 Content-Type */
+    private static final String ERROR_CONTENT_TYPE = "application/json;charset=UTF-8";
+
+    /** 预先序列化响应体的认证失败错误码 */
+    private static final BusinessCode[] AUTH_FAILURE_CODES = { BusinessCode.TOKEN_INVALID,
+            BusinessCode.PERMISSION_DENIED };
+
+    private final AuditLog auditLog;
+
+    private final ObjectMapper objectMapper;
+
+    /** 错误码 -> 预先序列化的 Result.fail(错误码) 响应体 */
+    private final Map<BusinessCode, byte[]> errorBodies = new EnumMap<>(BusinessCode.class);
+
+    public LoginInterceptor(AuditLog auditLog, ObjectMapper objectMapper) {
+        this.auditLog = auditLog;
+        this.objectMapper = objectMapper;
+        for (BusinessCode businessCode : AUTH_FAILURE_CODES) {
+            try {
+                errorBodies.put(businessCode, objectMapper.writeValueAsBytes(Result.fail(businessCode)));
+            } catch (JsonProcessingException e) {
+                throw new IllegalStateException("序列化认证失败响应失败：" + businessCode, e);
+            }
+        }
+    }
+
     /**
      * 在请求处理之前进行调用（Controller方法调用之前）
      * 
@@ -27,8 +66,7 @@ public class LoginInterceptor implements HandlerInterceptor {
     @Override
     public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler)
             throws Exception {
-        // 打印请求信息（可选，用于调试）
-        System.out.println("LoginInterceptor - 请求路径: " + request.getRequestURI());
+        request.setAttribute(START_NANOS_ATTR, System.nanoTime());
 
         // 1. 从请求头中获取 Token
         String token = request.getHeader("Authorization");
@@ -40,36 +78,66 @@ public class LoginInterceptor implements HandlerInterceptor {
 
         // 2. 检查 Token 是否存在
         // if (token == null || token.trim().isEmpty()) {
-        // System.out.println("LoginInterceptor - Token 不存在");
         // sendErrorResponse(response, BusinessCode.TOKEN_MISSING);
         // return false;
         // }
 
-        // 3. 验证 Token 是否有效
+        // 3. 验证 Token 是否有效（单次验签，已验签的 Token 命中缓存）
         try {
-            boolean isValid = JwtUtil.validateToken(token);
-            if (!isValid) {
-                System.out.println("LoginInterceptor - Token 验证失败");
+            JwtPrincipal principal = JwtUtil.verifyToken(token);
+            if (principal == null) {
+                recordAuthFailed(request, "Token 验证失败");
                 sendErrorResponse(response, BusinessCode.TOKEN_INVALID);
                 return false;
             }
 
-            // 4. Token 验证通过，从 Token 中提取用户ID和用户名并存储到请求中
-            Integer userId = JwtUtil.getUserIdFromToken(token);
-            String username = JwtUtil.getUsernameFromToken(token);
+            // 4. Token 验证通过，将用户ID和用户名存储到请求中
+            Integer userId = principal.getUserId();
+            String username = principal.getUsername();
             request.setAttribute("userId", userId);
             request.setAttribute("username", username);
-            System.out.println("LoginInterceptor - Token 验证通过，用户ID: " + userId + ", 用户名: " + username);
 
             return true;
 
         } catch (Exception e) {
-            System.out.println("LoginInterceptor - Token 解析异常: " + e.getMessage());
+            recordAuthFailed(request, "Token 解析异常: " + e.getMessage());
             sendErrorResponse(response, BusinessCode.TOKEN_INVALID);
             return false;
         }
     }
 
+    /**
+     * 请求处理完成后记录访问日志（只有通过认证的请求会执行到这里）
+     * 
+     * @param request  请求对象
+     * @param response 响应对象
+     * @param handler  处理器
+     * @param ex       处理过程中的异常
+     */
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+            Exception ex) {
+        long durationMicros = 0;
+        if (request.getAttribute(START_NANOS_ATTR) instanceof Long startNanos) {
+            durationMicros = (System.nanoTime() - startNanos) / 1000;
+        }
+        auditLog.record(AuditEventType.ACCESS, request.getMethod(), request.getRequestURI(),
+                (Integer) request.getAttribute("userId"), (String) request.getAttribute("username"),
+                request.getRemoteAddr(), response.getStatus(), durationMicros,
+                ex != null ? ex.getClass().getSimpleName() : null);
+    }
+
+    /**
+     * 记录认证失败事件
+     * 
+     * @param request 请求对象
+     * @param reason  失败原因
+     */
+    private void recordAuthFailed(HttpServletRequest request, String reason) {
+        auditLog.record(AuditEventType.AUTH_FAILED, request.getMethod(), request.getRequestURI(), null, null,
+                request.getRemoteAddr(), 0, 0, reason);
+    }
+
     /**
      * 发送错误响应
      * 返回：HTTP 200 + 业务code
@@ -80,13 +148,14 @@ public class LoginInterceptor implements HandlerInterceptor {
      */
     private void sendErrorResponse(HttpServletResponse response, BusinessCode businessCode) throws Exception {
         response.setStatus(HttpServletResponse.SC_OK); // 统一返回 HTTP 200
-        response.setContentType("application/json;charset=UTF-8");
+        response.setContentType(ERROR_CONTENT_TYPE);
 
-        Result result = Result.fail(businessCode);
-
-        ObjectMapper objectMapper = new ObjectMapper();
-        String json = objectMapper.writeValueAsString(result);
-
-        response.getWriter().write(json);
+        // 认证失败的响应体是固定的，直接写出预先序列化的字节
+        byte[] body = errorBodies.get(businessCode);
+        if (body == null) {
+            body = objectMapper.writeValueAsBytes(Result.fail(businessCode));
+        }
+        response.setContentLength(body.length);
+        response.getOutputStream().write(body);
     }
 }
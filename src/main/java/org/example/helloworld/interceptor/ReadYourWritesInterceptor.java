@@ -0,0 +1,42 @@
+package org.example.helloworld.interceptor;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.example.helloworld.datasource.ReadYourWrites;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+/**
+ * 读写分离时登记当前请求的客户端（见 ReadYourWrites）
+ *
+ * 注册在 LoginInterceptor 之后：已登录的请求按用户ID区分客户端，未登录的请求（登录、注册等）按客户端地址区分
+ */
+public class ReadYourWritesInterceptor implements AsyncHandlerInterceptor {
+
+    private final ReadYourWrites readYourWrites;
+
+    public ReadYourWritesInterceptor(ReadYourWrites readYourWrites) {
+        this.readYourWrites = readYourWrites;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        Object userId = request.getAttribute("userId");
+        readYourWrites.begin(userId != null ? "user:" + userId : "addr:" + request.getRemoteAddr());
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+            Exception ex) {
+        readYourWrites.end();
+    }
+
+    /**
+     * 异步请求（流式响应等）的请求线程在这里释放，afterCompletion 不会在该线程上调用
+     */
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response,
+            Object handler) {
+        readYourWrites.end();
+    }
+}
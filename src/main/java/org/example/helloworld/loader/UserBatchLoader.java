@@ -0,0 +1,258 @@
+package org.example.helloworld.loader;
+
+import jakarta.annotation.PreDestroy;
+import org.example.helloworld.entity.UserEntity;
+import org.example.helloworld.mapper.UserMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * 按 ID 批量加载用户（DataLoader 模式）
+ *
+ * 需要嵌入用户信息的接口（订单列表、用户详情等）都通过这里加载用户：
+ * - loadMany: 一次加载多个用户，去重后按 MAX_BATCH_SIZE 分批执行 selectBatchIds
+ * - load: 加载单个用户，batchWindowMillis 内所有请求的 ID 合并为一次 selectBatchIds
+ * - 同一个 HTTP 请求内已加载过的用户（包括不存在的 ID）直接从请求级缓存返回，不重复查询
+ * - loadManyWithoutMemo: 不使用请求级缓存，用于流式接口（缓存会随流中的用户数增长，直到请求结束才释放）
+ *
+ * 返回的用户对象在同一请求内共享，调用方不要修改
+ */
+@Component
+public class UserBatchLoader {
+
+  /** 每条 IN 语句包含的最大 ID 数量 */
+  private static final int MAX_BATCH_SIZE = 500;
+
+  /** 请求级缓存在 request attribute 中的 key */
+  private static final String MEMO_ATTRIBUTE = UserBatchLoader.class.getName() + ".memo";
+
+  /**
+   * 单个加载的合并窗口（毫秒），0 表示不合并，直接查询
+   *
+   * 开启后每次单个加载都至少等待一个窗口（即使没有其他并发请求），只在单个加载的并发很高时开启
+   */
+  @Value("${user.loader.batchWindowMillis:0}")
+  private long batchWindowMillis;
+
+  /** 等待合并查询结果的最长时间（毫秒） */
+  @Value("${user.loader.timeoutMillis:5000}")
+  private long timeoutMillis;
+
+  @Autowired
+  private UserMapper userMapper;
+
+  /** 等待下一次批量查询的 ID */
+  private Map<Integer, CompletableFuture<UserEntity>> pending = new HashMap<>();
+
+  private final ScheduledExecutorService dispatcher = Executors.newSingleThreadScheduledExecutor(r -> {
+    Thread thread = new Thread(r, "user-batch-loader");
+    thread.setDaemon(true);
+    return thread;
+  });
+
+  /**
+   * 加载单个用户
+   *
+   * @param id 用户 ID
+   * @return 用户，不存在时返回 null
+   */
+  public UserEntity load(Integer id) {
+    Map<Integer, UserEntity> memo = requestMemo();
+    if (memo != null && memo.containsKey(id)) {
+      return memo.get(id);
+    }
+
+    UserEntity user;
+    if (batchWindowMillis <= 0) {
+      user = userMapper.selectById(id);
+    } else {
+      user = await(enqueue(id), id);
+    }
+
+    if (memo != null) {
+      memo.put(id, user);
+    }
+    return user;
+  }
+
+  /**
+   * 等待合并查询的结果，超时或被中断时抛出异常，不会永远阻塞请求线程
+   *
+   * @param future 查询结果
+   * @param id     用户 ID
+   * @return 用户
+   */
+  private UserEntity await(CompletableFuture<UserEntity> future, Integer id) {
+    try {
+      return future.get(timeoutMillis, TimeUnit.MILLISECONDS);
+    } catch (ExecutionException e) {
+      throw e.getCause() instanceof RuntimeException cause ? cause : new IllegalStateException("加载用户失败：" + id, e.getCause());
+    } catch (TimeoutException e) {
+      throw new IllegalStateException("加载用户超时：" + id, e);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("等待加载用户时被中断：" + id, e);
+    }
+  }
+
+  /**
+   * 加载多个用户
+   *
+   * @param ids 用户 ID（可以重复，null 会被忽略）
+   * @return 用户 ID -> 用户（不包含不存在的用户）
+   */
+  public Map<Integer, UserEntity> loadMany(Collection<Integer> ids) {
+    return loadMany(ids, requestMemo());
+  }
+
+  /**
+   * 加载多个用户，不读写请求级缓存
+   *
+   * @param ids 用户 ID（可以重复，null 会被忽略）
+   * @return 用户 ID -> 用户（不包含不存在的用户）
+   */
+  public Map<Integer, UserEntity> loadManyWithoutMemo(Collection<Integer> ids) {
+    return loadMany(ids, null);
+  }
+
+  /**
+   * @param ids  用户 ID
+   * @param memo 请求级缓存，null 表示不使用
+   */
+  private Map<Integer, UserEntity> loadMany(Collection<Integer> ids, Map<Integer, UserEntity> memo) {
+    Map<Integer, UserEntity> users = new HashMap<>(ids.size() * 2);
+    List<Integer> missing = new ArrayList<>();
+    for (Integer id : ids) {
+      if (id == null || users.containsKey(id)) {
+        continue;
+      }
+      if (memo != null && memo.containsKey(id)) {
+        users.put(id, memo.get(id));
+      } else {
+        // 先占位，重复的 ID 只查询一次
+        users.put(id, null);
+        missing.add(id);
+      }
+    }
+
+    for (int from = 0; from < missing.size(); from += MAX_BATCH_SIZE) {
+      List<Integer> batch = missing.subList(from, Math.min(from + MAX_BATCH_SIZE, missing.size()));
+      for (UserEntity user : userMapper.selectBatchIds(batch)) {
+        users.put(user.getId(), user);
+      }
+    }
+
+    if (memo != null) {
+      for (Integer id : missing) {
+        memo.put(id, users.get(id));
+      }
+    }
+    users.values().removeIf(user -> user == null);
+    return users;
+  }
+
+  /**
+   * 把 ID 加入下一次批量查询：
+   * - 批次中的第一个 ID 负责安排 batchWindowMillis 之后的查询
+   * - 批次达到 MAX_BATCH_SIZE 时由当前线程立即查询
+   * - dispatcher 已关闭（应用关闭中）无法安排时由当前线程立即查询
+   *
+   * @param id 用户 ID
+   * @return 查询结果
+   */
+  private CompletableFuture<UserEntity> enqueue(Integer id) {
+    CompletableFuture<UserEntity> future;
+    boolean first;
+    boolean full;
+    synchronized (this) {
+      future = pending.get(id);
+      if (future != null) {
+        return future;
+      }
+      future = new CompletableFuture<>();
+      first = pending.isEmpty();
+      pending.put(id, future);
+      full = pending.size() >= MAX_BATCH_SIZE;
+    }
+
+    if (full) {
+      dispatch();
+    } else if (first) {
+      try {
+        dispatcher.schedule(this::dispatch, batchWindowMillis, TimeUnit.MILLISECONDS);
+      } catch (RejectedExecutionException e) {
+        dispatch();
+      }
+    }
+    return future;
+  }
+
+  /**
+   * 执行一次批量查询，完成当前批次的所有 ID
+   *
+   * 任何异常（包括 Error）都会传给等待中的请求，不会留下永远不完成的 future
+   */
+  private void dispatch() {
+    Map<Integer, CompletableFuture<UserEntity>> batch;
+    synchronized (this) {
+      if (pending.isEmpty()) {
+        return;
+      }
+      batch = pending;
+      pending = new HashMap<>();
+    }
+
+    try {
+      Map<Integer, UserEntity> users = new HashMap<>(batch.size() * 2);
+      for (UserEntity user : userMapper.selectBatchIds(batch.keySet())) {
+        users.put(user.getId(), user);
+      }
+      batch.forEach((id, future) -> future.complete(users.get(id)));
+    } catch (Throwable e) {
+      batch.values().forEach(future -> future.completeExceptionally(e));
+      if (e instanceof Error error) {
+        throw error;
+      }
+    }
+  }
+
+  /**
+   * 当前 HTTP 请求的用户缓存，不在请求中（如定时任务、基准测试）时返回 null
+   */
+  @SuppressWarnings("unchecked")
+  private Map<Integer, UserEntity> requestMemo() {
+    RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+    if (attributes == null) {
+      return null;
+    }
+    Map<Integer, UserEntity> memo = (Map<Integer, UserEntity>) attributes.getAttribute(MEMO_ATTRIBUTE,
+        RequestAttributes.SCOPE_REQUEST);
+    if (memo == null) {
+      memo = new HashMap<>();
+      attributes.setAttribute(MEMO_ATTRIBUTE, memo, RequestAttributes.SCOPE_REQUEST);
+    }
+    return memo;
+  }
+
+  @PreDestroy
+  public void shutdown() {
+    // 已安排的批量查询在关闭前执行完，不会让等待中的请求永远阻塞
+    dispatcher.shutdown();
+  }
+}
@@ -0,0 +1,67 @@
+package org.example.helloworld.mapper;
+
+import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import org.apache.ibatis.annotations.Delete;
+import org.apache.ibatis.annotations.Insert;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.Update;
+import org.example.helloworld.entity.FileObjectEntity;
+
+/**
+ * 文件对象 Mapper 接口
+ */
+public interface FileObjectMapper extends BaseMapper<FileObjectEntity> {
+
+    /**
+     * 引用次数加 1
+     *
+     * 同时按对象名匹配：同一内容的记录可能已被释放并以新的对象名重新登记（例如在其他实例上），
+     * 此时缓存中的旧对象名不再有效
+     *
+     * @param contentHash 文件内容哈希
+     * @param objectName  对象名
+     * @return 影响行数，0 表示记录不存在或对象名已变化
+     */
+    @Update("update file_object set ref_count = ref_count + 1 "
+            + "where content_hash = #{contentHash} and object_name = #{objectName} and ref_count > 0")
+    int incrementRefCount(@Param("contentHash") String contentHash, @Param("objectName") String objectName);
+
+    /**
+     * 引用次数减 1
+     *
+     * @param objectName 对象名
+     * @return 影响行数，0 表示记录不存在
+     */
+    @Update("update file_object set ref_count = ref_count - 1 where object_name = #{objectName} and ref_count > 0")
+    int decrementRefCount(@Param("objectName") String objectName);
+
+    /**
+     * 删除已无引用的记录
+     *
+     * @param objectName 对象名
+     * @return 影响行数，1 表示最后一个引用已释放，可以删除存储中的文件
+     */
+    @Delete("delete from file_object where object_name = #{objectName} and ref_count = 0")
+    int deleteUnreferenced(@Param("objectName") String objectName);
+
+    /**
+     * 登记用户对文件的引用
+     *
+     * @param objectName 对象名
+     * @param userId     用户ID
+     * @return 影响行数，0 表示该用户已引用过这个文件
+     */
+    @Insert("insert ignore into file_object_ref (object_name, user_id, create_time) "
+            + "values (#{objectName}, #{userId}, now())")
+    int insertRef(@Param("objectName") String objectName, @Param("userId") Integer userId);
+
+    /**
+     * 删除用户对文件的引用
+     *
+     * @param objectName 对象名
+     * @param userId     用户ID
+     * @return 影响行数，0 表示该用户没有引用这个文件
+     */
+    @Delete("delete from file_object_ref where object_name = #{objectName} and user_id = #{userId}")
+    int deleteRef(@Param("objectName") String objectName, @Param("userId") Integer userId);
+}
@@ -0,0 +1,56 @@
+package org.example.helloworld.mapper;
+
+import org.apache.ibatis.annotations.Insert;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.Select;
+import org.apache.ibatis.annotations.Update;
+import org.example.helloworld.entity.OrderDailyStatsEntity;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * 用户每日订单汇总 Mapper 接口
+ * 主键为 (uid, stat_date) 联合主键，MyBatis-Plus 不支持联合主键，所以不继承 BaseMapper，只提供下面的 SQL
+ */
+public interface OrderDailyStatsMapper {
+
+    /**
+     * 查询用户在日期范围内有订单的天，按日期升序
+     *
+     * @param uid   用户ID
+     * @param start 开始日期（包含）
+     * @param end   结束日期（包含）
+     * @return 每日汇总
+     */
+    @Select("select uid, stat_date, order_count, total_sum from order_daily_stats "
+            + "where uid = #{uid} and stat_date between #{start} and #{end} and order_count > 0 "
+            + "order by stat_date")
+    List<OrderDailyStatsEntity> selectRange(@Param("uid") Integer uid, @Param("start") LocalDate start,
+                                            @Param("end") LocalDate end);
+
+    /**
+     * 累加一个订单（不存在时插入）
+     *
+     * @param uid      用户ID
+     * @param statDate 订单日期
+     * @param total    订单总额
+     * @return 影响行数
+     */
+    @Insert("insert into order_daily_stats (uid, stat_date, order_count, total_sum) "
+            + "values (#{uid}, #{statDate}, 1, #{total}) "
+            + "on duplicate key update order_count = order_count + 1, total_sum = total_sum + #{total}")
+    int addOrder(@Param("uid") Integer uid, @Param("statDate") LocalDate statDate, @Param("total") long total);
+
+    /**
+     * 减去一个订单
+     *
+     * @param uid      用户ID
+     * @param statDate 订单日期
+     * @param total    订单总额
+     * @return 影响行数
+     */
+    @Update("update order_daily_stats set order_count = order_count - 1, total_sum = total_sum - #{total} "
+            + "where uid = #{uid} and stat_date = #{statDate}")
+    int removeOrder(@Param("uid") Integer uid, @Param("statDate") LocalDate statDate, @Param("total") long total);
+}
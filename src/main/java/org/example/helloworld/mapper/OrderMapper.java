@@ -1,13 +1,12 @@
 package org.example.helloworld.mapper;
 
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import org.apache.ibatis.annotations.Options;
 import org.apache.ibatis.annotations.Param;
-import org.apache.ibatis.annotations.One;
-import org.apache.ibatis.annotations.Results;
-import org.apache.ibatis.annotations.Result;
 import org.apache.ibatis.annotations.Select;
+import org.apache.ibatis.cursor.Cursor;
+import org.apache.ibatis.mapping.ResultSetType;
 import org.example.helloworld.entity.OrderEntity;
-import org.example.helloworld.entity.UserEntity;
 
 import java.util.List;
 
@@ -25,16 +24,14 @@ public interface OrderMapper extends BaseMapper<OrderEntity> {
     List<OrderEntity> selectByUid(@Param("uid") Integer uid);
 
     /**
-     * 查询所有订单及其关联的用户
+     * 流式查询所有订单
      * 
-     * @return 订单列表，每个订单包含其关联的用户
+     * fetchSize = Integer.MIN_VALUE 时 MySQL 驱动逐行从 socket 读取结果，不会把整个结果集加载到内存。
+     * 遍历期间当前连接不能执行其他 SQL，必须在事务内遍历并关闭 Cursor
+     * 
+     * @return 订单游标
      */
     @Select("select * from `order`")
-    @Results(id = "OrderWithUserMap", value = {
-            @Result(column = "id", property = "id", id = true),
-            @Result(column = "order_time", property = "orderTime"),
-            @Result(column = "total", property = "total"),
-            @Result(column = "uid", property = "user", javaType = UserEntity.class, one = @One(select = "org.example.helloworld.mapper.UserMapper.selectById"))
-    })
-    List<OrderEntity> selectAllOrdersAndUsers();
+    @Options(fetchSize = Integer.MIN_VALUE, resultSetType = ResultSetType.FORWARD_ONLY)
+    Cursor<OrderEntity> streamAll();
 }
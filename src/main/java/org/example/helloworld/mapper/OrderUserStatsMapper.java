@@ -0,0 +1,44 @@
+package org.example.helloworld.mapper;
+
+import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import org.apache.ibatis.annotations.Insert;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.Update;
+import org.example.helloworld.entity.OrderUserStatsEntity;
+
+import java.util.Date;
+
+/**
+ * 用户订单汇总 Mapper 接口
+ */
+public interface OrderUserStatsMapper extends BaseMapper<OrderUserStatsEntity> {
+
+    /**
+     * 累加一个订单（不存在时插入）
+     *
+     * @param uid       用户ID
+     * @param total     订单总额
+     * @param orderTime 订单时间（可为 null，为 null 时不影响最早 / 最晚时间）
+     * @return 影响行数
+     */
+    @Insert("insert into order_user_stats (uid, order_count, total_sum, min_order_time, max_order_time) "
+            + "values (#{uid}, 1, #{total}, #{orderTime}, #{orderTime}) "
+            + "on duplicate key update order_count = order_count + 1, total_sum = total_sum + #{total}, "
+            + "min_order_time = coalesce(least(min_order_time, #{orderTime}), min_order_time, #{orderTime}), "
+            + "max_order_time = coalesce(greatest(max_order_time, #{orderTime}), max_order_time, #{orderTime})")
+    int addOrder(@Param("uid") Integer uid, @Param("total") long total, @Param("orderTime") Date orderTime);
+
+    /**
+     * 减去一个订单
+     * 最早 / 最晚时间无法通过减法得到，按 uid 重新计算（走 idx_uid 索引，只扫描该用户的订单）
+     *
+     * @param uid   用户ID
+     * @param total 订单总额
+     * @return 影响行数
+     */
+    @Update("update order_user_stats set order_count = order_count - 1, total_sum = total_sum - #{total}, "
+            + "min_order_time = (select min(order_time) from `order` where uid = #{uid}), "
+            + "max_order_time = (select max(order_time) from `order` where uid = #{uid}) "
+            + "where uid = #{uid}")
+    int removeOrder(@Param("uid") Integer uid, @Param("total") long total);
+}
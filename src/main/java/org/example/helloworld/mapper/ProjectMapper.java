@@ -1,6 +1,7 @@
 package org.example.helloworld.mapper;
 
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import org.apache.ibatis.annotations.Select;
 import org.example.helloworld.entity.ProjectEntity;
 
 /**
@@ -8,4 +9,11 @@ import org.example.helloworld.entity.ProjectEntity;
  */
 public interface ProjectMapper extends BaseMapper<ProjectEntity> {
 
+  /**
+   * 从表统计信息中读取 project 表的估算行数（不扫描表）
+   *
+   * @return 估算行数，统计信息不可用时返回 null
+   */
+  @Select("SELECT TABLE_ROWS FROM information_schema.TABLES WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'project'")
+  Long selectApproximateCount();
 }
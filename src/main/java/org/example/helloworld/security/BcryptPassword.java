@@ -0,0 +1,38 @@
+package org.example.helloworld.security;
+
+import jakarta.validation.Constraint;
+import jakarta.validation.ConstraintValidator;
+import jakarta.validation.ConstraintValidatorContext;
+import jakarta.validation.Payload;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 校验密码能否用 BCrypt 哈希：UTF-8 编码后不超过 PasswordHasher.MAX_PASSWORD_BYTES 字节
+ *
+ * null 视为有效，非空由 @NotBlank 校验
+ */
+@Documented
+@Constraint(validatedBy = BcryptPassword.Validator.class)
+@Target({ ElementType.FIELD, ElementType.PARAMETER })
+@Retention(RetentionPolicy.RUNTIME)
+public @interface BcryptPassword {
+
+  String message() default "密码不能超过 " + PasswordHasher.MAX_PASSWORD_BYTES + " 字节";
+
+  Class<?>[] groups() default {};
+
+  Class<? extends Payload>[] payload() default {};
+
+  class Validator implements ConstraintValidator<BcryptPassword, String> {
+
+    @Override
+    public boolean isValid(String value, ConstraintValidatorContext context) {
+      return value == null || !PasswordHasher.isTooLong(value);
+    }
+  }
+}
@@ -0,0 +1,181 @@
+package org.example.helloworld.security;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PostConstruct;
+import org.example.helloworld.exception.BusinessException;
+import org.example.helloworld.utils.BusinessCode;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
+
+/**
+ * 密码哈希
+ *
+ * - 使用 BCrypt，cost 由 user.password.cost 配置（每加 1 耗时翻倍），用 PasswordHashBenchmark 在目标机器上选择
+ * - 哈希和校验都在 passwordHashExecutor 线程池中执行，CPU 占用不超过线程池大小；
+ *   排队已满时抛出 BusinessException(SYSTEM_BUSY)，不会拖垮其他接口
+ * - 校验时如果数据库中是旧的明文密码或 cost 低于当前配置，同时计算新的哈希，由调用方写回数据库
+ */
+@Component
+public class PasswordHasher {
+
+  /** BCrypt 只使用密码的前 72 字节，spring-security-crypto 对更长的密码直接抛出 IllegalArgumentException */
+  public static final int MAX_PASSWORD_BYTES = 72;
+
+  /** BCrypt 哈希格式：$2a$10$ + 53 个字符 */
+  private static final Pattern BCRYPT_PATTERN = Pattern.compile("^\\$2[aby]?\\$\\d\\d\\$[./0-9A-Za-z]{53}$");
+
+  /** BCrypt cost（4 ~ 31） */
+  @Value("${user.password.cost:10}")
+  private int cost;
+
+  @Autowired
+  @Qualifier("passwordHashExecutor")
+  private ThreadPoolTaskExecutor passwordHashExecutor;
+
+  @Autowired
+  private MeterRegistry meterRegistry;
+
+  private BCryptPasswordEncoder encoder;
+
+  /** 用户不存在时用来校验的哈希（当前 cost），使不存在的用户名和错误密码的响应时间一致 */
+  private String dummyHash;
+
+  /**
+   * 密码校验结果
+   *
+   * @param matched     密码是否正确
+   * @param upgradedHash 需要写回数据库的新哈希（明文密码或 cost 变化时），不需要时为 null
+   */
+  public record VerifyResult(boolean matched, String upgradedHash) {
+  }
+
+  @PostConstruct
+  public void init() {
+    encoder = new BCryptPasswordEncoder(cost);
+    dummyHash = encoder.encode("dummy-password-for-unknown-user");
+    // 暴露线程池排队长度、拒绝次数等指标（executor.queued、executor.active ...，name=password.hash）
+    new ExecutorServiceMetrics(passwordHashExecutor.getThreadPoolExecutor(), "password.hash", Tags.empty())
+        .bindTo(meterRegistry);
+  }
+
+  /**
+   * 计算密码哈希（在哈希线程池中执行）
+   *
+   * @param rawPassword 明文密码（UTF-8 编码后不超过 MAX_PASSWORD_BYTES 字节）
+   * @return BCrypt 哈希
+   */
+  public String hash(String rawPassword) {
+    if (isTooLong(rawPassword)) {
+      throw new IllegalArgumentException("密码不能超过 " + MAX_PASSWORD_BYTES + " 字节");
+    }
+    return execute(() -> encoder.encode(rawPassword));
+  }
+
+  /**
+   * 校验密码（在哈希线程池中执行）
+   *
+   * 超过 MAX_PASSWORD_BYTES 字节的密码不可能是注册时的密码，视为不匹配（仍计算一次 BCrypt，响应时间一致）；
+   * 旧数据中超长的明文密码仍可登录，但无法哈希，不升级
+   *
+   * @param rawPassword    用户输入的明文密码
+   * @param storedPassword 数据库中的密码（BCrypt 哈希，或旧数据中的明文）
+   * @return 校验结果
+   */
+  public VerifyResult verify(String rawPassword, String storedPassword) {
+    if (storedPassword == null) {
+      return new VerifyResult(false, null);
+    }
+    if (!isHashed(storedPassword)) {
+      // 旧数据是明文密码：常量时间比较，通过后升级为哈希
+      boolean matched = MessageDigest.isEqual(rawPassword.getBytes(StandardCharsets.UTF_8),
+          storedPassword.getBytes(StandardCharsets.UTF_8));
+      return new VerifyResult(matched, matched && !isTooLong(rawPassword) ? hash(rawPassword) : null);
+    }
+    if (isTooLong(rawPassword)) {
+      return execute(() -> {
+        encoder.matches("", storedPassword);
+        return new VerifyResult(false, null);
+      });
+    }
+    return execute(() -> {
+      if (!encoder.matches(rawPassword, storedPassword)) {
+        return new VerifyResult(false, null);
+      }
+      // 在同一个任务中完成重新哈希，只在 cost 调高后每个用户第一次登录时发生
+      String upgradedHash = encoder.upgradeEncoding(storedPassword) ? encoder.encode(rawPassword) : null;
+      return new VerifyResult(true, upgradedHash);
+    });
+  }
+
+  /**
+   * 用户不存在时校验一次固定的哈希（在哈希线程池中执行），结果总是不匹配
+   *
+   * 否则不存在的用户名不需要计算 BCrypt，响应明显更快，可以据此枚举用户名
+   *
+   * @param rawPassword 用户输入的明文密码
+   */
+  public void verifyDummy(String rawPassword) {
+    verify(rawPassword, dummyHash);
+  }
+
+  /**
+   * 判断密码是否超过 BCrypt 的长度上限
+   *
+   * @param rawPassword 明文密码
+   * @return UTF-8 编码后是否超过 MAX_PASSWORD_BYTES 字节
+   */
+  public static boolean isTooLong(String rawPassword) {
+    return rawPassword.getBytes(StandardCharsets.UTF_8).length > MAX_PASSWORD_BYTES;
+  }
+
+  /**
+   * 判断数据库中的密码是否已经是 BCrypt 哈希
+   *
+   * @param storedPassword 数据库中的密码
+   * @return 是否是 BCrypt 哈希
+   */
+  public boolean isHashed(String storedPassword) {
+    return BCRYPT_PATTERN.matcher(storedPassword).matches();
+  }
+
+  /**
+   * 提交到哈希线程池并等待结果
+   *
+   * @param task 哈希任务
+   * @return 任务结果
+   */
+  private <T> T execute(Supplier<T> task) {
+    Future<T> future;
+    try {
+      future = passwordHashExecutor.submit(task::get);
+    } catch (TaskRejectedException e) {
+      throw new BusinessException(BusinessCode.SYSTEM_BUSY);
+    }
+    try {
+      return future.get();
+    } catch (InterruptedException e) {
+      future.cancel(true);
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("等待密码哈希时被中断", e);
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof RuntimeException runtimeException) {
+        throw runtimeException;
+      }
+      throw new IllegalStateException("密码哈希失败", e.getCause());
+    }
+  }
+}
@@ -0,0 +1,46 @@
+package org.example.helloworld.service;
+
+import com.baomidou.mybatisplus.extension.service.IService;
+import org.example.helloworld.entity.FileObjectEntity;
+
+/**
+ * 文件对象服务接口（内容去重索引和引用计数）
+ * 继承 IService 获得 MyBatis-Plus 提供的 CRUD 方法
+ *
+ * 引用按用户记录（file_object_ref），ref_count 是引用该文件的用户数：
+ * 同一用户重复上传相同内容只算一次引用，删除时只释放自己的引用
+ */
+public interface FileObjectService extends IService<FileObjectEntity> {
+
+    /**
+     * 如果相同内容的文件已存在，为该用户登记引用并返回其对象名
+     *
+     * @param contentHash 文件内容哈希
+     * @param userId      上传用户ID
+     * @return 已存在文件的对象名，不存在时返回 null
+     */
+    String acquireExisting(String contentHash, Integer userId);
+
+    /**
+     * 登记新上传的文件（引用次数为 1，引用者为该用户）
+     * 如果并发上传了相同内容的文件，以先登记的为准：为该用户登记引用并返回先登记的对象名，
+     * 调用方需要删除自己刚上传的文件
+     *
+     * @param contentHash 文件内容哈希
+     * @param objectName  刚上传的对象名
+     * @param size        文件大小（字节）
+     * @param userId      上传用户ID
+     * @return 最终使用的对象名
+     */
+    String register(String contentHash, String objectName, long size, Integer userId);
+
+    /**
+     * 释放该用户对文件的引用
+     *
+     * @param objectName 对象名
+     * @param userId     用户ID
+     * @return true 表示最后一个引用已释放（或文件未登记），可以删除存储中的文件；
+     *         该用户没有引用这个文件（如重复删除）时不做任何修改，返回 false
+     */
+    boolean release(String objectName, Integer userId);
+}
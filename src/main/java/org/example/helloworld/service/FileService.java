@@ -1,7 +1,10 @@
 package org.example.helloworld.service;
 
+import org.example.helloworld.vo.BatchUploadItemVO;
+import org.example.helloworld.vo.FileUploadVO;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.io.InputStream;
 import java.util.List;
 
 /**
@@ -10,29 +13,44 @@ import java.util.List;
 public interface FileService {
     
     /**
-     * 上传文件到阿里云 OSS
+     * 上传文件（阿里云 OSS 或本地磁盘，见 StorageConfig）
      * 
-     * @param file 上传的文件
+     * @param file   上传的文件
+     * @param userId 上传用户ID（开启去重时登记为该文件的引用者）
      * @return 文件访问 URL
      * @throws Exception 上传异常
      */
-    String upload(MultipartFile file) throws Exception;
+    String upload(MultipartFile file, Integer userId) throws Exception;
     
     /**
-     * 批量上传文件
+     * 流式上传文件（边读边写，不在内存或临时文件中缓存整个文件）
      * 
-     * @param files 文件数组
-     * @return 文件访问 URL 列表
+     * @param inputStream      文件内容输入流
+     * @param originalFilename 原始文件名
+     * @param contentType      文件类型
+     * @param userId           上传用户ID（开启去重时登记为该文件的引用者）
+     * @return 上传结果（URL、文件名、大小）
      * @throws Exception 上传异常
      */
-    List<String> batchUpload(MultipartFile[] files) throws Exception;
+    FileUploadVO uploadStream(InputStream inputStream, String originalFilename, String contentType, Integer userId)
+            throws Exception;
+    
+    /**
+     * 批量上传文件（并行上传，单个文件失败不影响其他文件）
+     * 
+     * @param files  文件数组
+     * @param userId 上传用户ID（开启去重时登记为该文件的引用者）
+     * @return 每个文件的上传结果，顺序与 files 一致
+     */
+    List<BatchUploadItemVO> batchUpload(MultipartFile[] files, Integer userId);
     
     /**
      * 删除文件
      * 
      * @param fileUrl 文件 URL
+     * @param userId  当前用户ID（开启去重时只释放该用户的引用）
      * @throws Exception 删除异常
      */
-    void delete(String fileUrl) throws Exception;
+    void delete(String fileUrl, Integer userId) throws Exception;
 }
 
@@ -1,9 +1,12 @@
 package org.example.helloworld.service;
 
 import com.baomidou.mybatisplus.extension.service.IService;
+import org.example.helloworld.dto.PageDTO;
 import org.example.helloworld.entity.OrderEntity;
+import org.example.helloworld.vo.PageVO;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * 订单服务接口
@@ -17,6 +20,21 @@ public interface OrderService extends IService<OrderEntity> {
      * @return 订单列表
      */
     List<OrderEntity> getAllOrdersWithUsers();
+
+    /**
+     * 流式查询所有订单及其关联的用户，按批交给 consumer 处理，内存占用与订单总数无关
+     * 
+     * @param consumer 每批订单的处理函数（每批最多 500 个订单）
+     */
+    void streamAllOrdersWithUsers(Consumer<List<OrderEntity>> consumer);
+
+    /**
+     * 分页查询订单及其关联的用户
+     * 
+     * @param dto 分页参数
+     * @return 分页结果
+     */
+    PageVO<OrderEntity> orderPage(PageDTO dto);
     
     /**
      * 根据用户ID查询订单
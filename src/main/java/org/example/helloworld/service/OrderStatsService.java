@@ -0,0 +1,40 @@
+package org.example.helloworld.service;
+
+import com.baomidou.mybatisplus.extension.service.IService;
+import org.example.helloworld.entity.OrderEntity;
+import org.example.helloworld.entity.OrderUserStatsEntity;
+import org.example.helloworld.vo.OrderStatsVO;
+
+import java.time.LocalDate;
+
+/**
+ * 订单统计服务接口（按用户增量汇总）
+ * 继承 IService 获得 MyBatis-Plus 提供的 CRUD 方法
+ */
+public interface OrderStatsService extends IService<OrderUserStatsEntity> {
+
+    /**
+     * 订单写入后累加到汇总（需要与订单写入在同一事务中调用）
+     *
+     * @param order 新写入的订单
+     */
+    void recordOrder(OrderEntity order);
+
+    /**
+     * 订单删除后从汇总中减去（需要与订单删除在同一事务中调用）
+     *
+     * @param order 被删除的订单
+     */
+    void revertOrder(OrderEntity order);
+
+    /**
+     * 查询用户的订单统计
+     *
+     * @param uid    用户ID
+     * @param bucket 趋势时间桶：day / month，为 null 时不返回趋势
+     * @param from   趋势开始日期（包含）
+     * @param to     趋势结束日期（包含）
+     * @return 订单统计
+     */
+    OrderStatsVO getUserStats(Integer uid, String bucket, LocalDate from, LocalDate to);
+}
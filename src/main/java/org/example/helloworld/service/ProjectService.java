@@ -1,11 +1,15 @@
 package org.example.helloworld.service;
 
-import com.baomidou.mybatisplus.core.metadata.IPage;
 import com.baomidou.mybatisplus.extension.service.IService;
 import org.example.helloworld.dto.CreateProjectDTO;
 import org.example.helloworld.dto.ProjectListDTO;
 import org.example.helloworld.dto.UpdateProjectDTO;
 import org.example.helloworld.entity.ProjectEntity;
+import org.example.helloworld.vo.BatchCreateProjectItemVO;
+import org.example.helloworld.vo.CursorPageVO;
+import org.example.helloworld.vo.PageVO;
+
+import java.util.List;
 
 /**
  * 项目服务接口
@@ -13,9 +17,13 @@ import org.example.helloworld.entity.ProjectEntity;
  */
 public interface ProjectService extends IService<ProjectEntity> {
 
-  IPage<ProjectEntity> projectList(ProjectListDTO dto);
+  PageVO<ProjectEntity> projectList(ProjectListDTO dto);
+
+  CursorPageVO<ProjectEntity> projectCursorList(ProjectListDTO dto);
 
   ProjectEntity createProject(CreateProjectDTO dto);
 
-  boolean updateProject(Integer id, UpdateProjectDTO dto);
+  List<BatchCreateProjectItemVO> createProjects(List<CreateProjectDTO> dtos);
+
+  ProjectEntity updateProject(Integer id, UpdateProjectDTO dto);
 }
@@ -0,0 +1,149 @@
+package org.example.helloworld.service.impl;
+
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.baomidou.mybatisplus.extension.service.impl.ServiceImpl;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.example.helloworld.entity.FileObjectEntity;
+import org.example.helloworld.mapper.FileObjectMapper;
+import org.example.helloworld.service.FileObjectService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * 文件对象服务实现类
+ * 
+ * - content_hash 上有唯一索引，并发上传相同内容时只有一条记录插入成功
+ * - 引用按用户记录在 file_object_ref（object_name + user_id 唯一），ref_count 与引用记录在同一事务中增减
+ * - 事务内先更新 file_object（行锁）再写 file_object_ref，登记和释放的加锁顺序一致
+ * - 哈希到对象名的映射缓存在内存中（Caffeine），命中时省去一次查询；
+ *   缓存可能过期（记录在其他实例上被释放后重新登记），引用次数加 1 时同时校验对象名，不一致时重新查询
+ */
+@Service
+public class FileObjectServiceImpl extends ServiceImpl<FileObjectMapper, FileObjectEntity>
+        implements FileObjectService {
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    /** 哈希 -> 对象名 缓存 */
+    private final Cache<String, String> hashCache = Caffeine.newBuilder()
+            .maximumSize(10_000)
+            .expireAfterWrite(Duration.ofHours(1))
+            .build();
+
+    /**
+     * 如果相同内容的文件已存在，为该用户登记引用并返回其对象名
+     * 
+     * @param contentHash 文件内容哈希
+     * @param userId      上传用户ID
+     * @return 已存在文件的对象名，不存在时返回 null
+     */
+    @Override
+    public String acquireExisting(String contentHash, Integer userId) {
+        String objectName = hashCache.getIfPresent(contentHash);
+        // 最多查询两次：缓存的对象名失效后重新查询一次
+        for (int attempt = 0; attempt < 2; attempt++) {
+            if (objectName == null) {
+                FileObjectEntity fileObject = this.getOne(new LambdaQueryWrapper<FileObjectEntity>()
+                        .eq(FileObjectEntity::getContentHash, contentHash));
+                if (fileObject == null) {
+                    return null;
+                }
+                objectName = fileObject.getObjectName();
+            }
+
+            String name = objectName;
+            Boolean acquired = new TransactionTemplate(transactionManager)
+                    .execute(status -> {
+                        // 记录可能已被删除（最后一个引用释放）或以新的对象名重新登记
+                        if (baseMapper.incrementRefCount(contentHash, name) == 0) {
+                            return false;
+                        }
+                        if (baseMapper.insertRef(name, userId) == 0) {
+                            // 该用户已引用过这个文件，撤销加 1
+                            status.setRollbackOnly();
+                        }
+                        return true;
+                    });
+            if (Boolean.TRUE.equals(acquired)) {
+                hashCache.put(contentHash, objectName);
+                return objectName;
+            }
+            hashCache.invalidate(contentHash);
+            objectName = null;
+        }
+        return null;
+    }
+
+    /**
+     * 登记新上传的文件
+     * 
+     * @param contentHash 文件内容哈希
+     * @param objectName  刚上传的对象名
+     * @param size        文件大小（字节）
+     * @param userId      上传用户ID
+     * @return 最终使用的对象名
+     */
+    @Override
+    public String register(String contentHash, String objectName, long size, Integer userId) {
+        FileObjectEntity fileObject = new FileObjectEntity();
+        fileObject.setContentHash(contentHash);
+        fileObject.setObjectName(objectName);
+        fileObject.setSize(size);
+        fileObject.setRefCount(1);
+        fileObject.setCreateTime(LocalDateTime.now());
+
+        try {
+            new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+                this.save(fileObject);
+                baseMapper.insertRef(objectName, userId);
+            });
+            hashCache.put(contentHash, objectName);
+            return objectName;
+        } catch (DuplicateKeyException e) {
+            // 并发上传了相同内容，以先登记的为准
+            String existing = acquireExisting(contentHash, userId);
+            if (existing == null) {
+                // 先登记的记录刚好被删除，重试一次
+                return register(contentHash, objectName, size, userId);
+            }
+            return existing;
+        }
+    }
+
+    /**
+     * 释放该用户对文件的引用
+     * 
+     * @param objectName 对象名
+     * @param userId     用户ID
+     * @return true 表示最后一个引用已释放（或文件未登记），可以删除存储中的文件
+     */
+    @Override
+    public boolean release(String objectName, Integer userId) {
+        Boolean lastReference = new TransactionTemplate(transactionManager).execute(status -> {
+            if (baseMapper.decrementRefCount(objectName) == 0) {
+                // 未登记的文件（如开启去重前上传的文件），直接删除
+                return true;
+            }
+            if (baseMapper.deleteRef(objectName, userId) == 0) {
+                // 该用户没有引用这个文件（重复删除或他人的文件），不释放其他用户的引用
+                status.setRollbackOnly();
+                return false;
+            }
+            // 删除失败说明仍有其他引用
+            return baseMapper.deleteUnreferenced(objectName) == 1;
+        });
+        if (!Boolean.TRUE.equals(lastReference)) {
+            return false;
+        }
+        hashCache.asMap().values().remove(objectName);
+        return true;
+    }
+}
@@ -1,126 +1,280 @@
 package org.example.helloworld.service.impl;
 
-import com.aliyun.oss.OSS;
-import com.aliyun.oss.OSSClientBuilder;
-import com.aliyun.oss.model.PutObjectRequest;
+import lombok.extern.slf4j.Slf4j;
+import org.example.helloworld.service.FileObjectService;
 import org.example.helloworld.service.FileService;
+import org.example.helloworld.storage.StorageBackend;
+import org.example.helloworld.vo.BatchUploadItemVO;
+import org.example.helloworld.vo.FileUploadVO;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.InputStream;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.ArrayList;
+import java.util.HexFormat;
 import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.regex.Pattern;
 
 /**
  * 文件服务实现类
- * 使用阿里云 OSS 存储
+ * 负责业务规则（文件类型校验、对象命名），文件读写交给 StorageBackend（阿里云 OSS 或本地磁盘，见 StorageConfig）
  */
+@Slf4j
 @Service
 public class FileServiceImpl implements FileService {
 
-    @Value("${aliyun.oss.endpoint:}")
-    private String endpoint;
+    /** 保留的文件扩展名格式 */
+    private static final Pattern EXTENSION_PATTERN = Pattern.compile("^\\.[A-Za-z0-9]{1,10}$");
 
-    @Value("${aliyun.oss.accessKeyId:}")
-    private String accessKeyId;
+    /** 文件存储后端 */
+    @Autowired
+    private StorageBackend storageBackend;
 
-    @Value("${aliyun.oss.accessKeySecret:}")
-    private String accessKeySecret;
+    /** 文件上传线程池（见 FileUploadConfig），限制批量上传的并发数 */
+    @Autowired
+    @Qualifier("fileUploadExecutor")
+    private ThreadPoolTaskExecutor fileUploadExecutor;
 
-    @Value("${aliyun.oss.bucketName:}")
-    private String bucketName;
+    /** 流式上传的单个文件大小上限（字节） */
+    @Value("${file.upload.stream.maxSize:2147483648}")
+    private long streamMaxSize;
 
-    @Value("${aliyun.oss.urlPrefix:}")
-    private String urlPrefix;
+    /** 是否开启内容去重（相同内容的文件只存储一份） */
+    @Value("${file.dedup.enabled:false}")
+    private boolean dedupEnabled;
+
+    /** 文件内容去重索引 */
+    @Autowired
+    private FileObjectService fileObjectService;
 
     /**
-     * 上传文件到阿里云 OSS
+     * 上传文件
      * 
-     * @param file 上传的文件
+     * @param file   上传的文件
+     * @param userId 上传用户ID（开启去重时登记为该文件的引用者）
      * @return 文件访问 URL
      * @throws Exception 上传异常
      */
     @Override
-    public String upload(MultipartFile file) throws Exception {
+    public String upload(MultipartFile file, Integer userId) throws Exception {
         // 文件类型验证（业务规则）
         String contentType = file.getContentType();
         if (contentType == null || !isAllowedType(contentType)) {
             throw new IllegalArgumentException("不支持的文件类型：" + contentType);
         }
 
-        // 检查配置
-        if (endpoint == null || endpoint.trim().isEmpty()) {
-            // 如果未配置 OSS，使用本地存储（开发环境）
-            return uploadToLocal(file);
+        // 去重模式：MultipartFile 已在本地缓存，先计算哈希，内容已存在时跳过上传
+        String contentHash = null;
+        if (dedupEnabled) {
+            try (InputStream inputStream = file.getInputStream()) {
+                contentHash = sha256(inputStream);
+            }
+            String existing = fileObjectService.acquireExisting(contentHash, userId);
+            if (existing != null) {
+                return storageBackend.getUrl(existing);
+            }
         }
 
-        // 创建 OSS 客户端
-        OSS ossClient = new OSSClientBuilder().build(endpoint, accessKeyId, accessKeySecret);
+        String objectName = buildObjectName(file.getOriginalFilename());
 
-        try {
-            // 获取原始文件名
-            String originalFilename = file.getOriginalFilename();
-            if (originalFilename == null) {
-                originalFilename = "unnamed";
-            }
+        // 上传文件
+        try (InputStream inputStream = file.getInputStream()) {
+            storageBackend.put(objectName, inputStream, file.getSize());
+        }
 
-            // 生成唯一文件名：UUID + 原始文件扩展名
-            String extension = "";
-            int lastDot = originalFilename.lastIndexOf('.');
-            if (lastDot > 0) {
-                extension = originalFilename.substring(lastDot);
-            }
-            String fileName = UUID.randomUUID().toString().replace("-", "") + extension;
-
-            // 按日期分文件夹：uploads/2025/11/03/xxx.jpg
-            String datePath = new java.text.SimpleDateFormat("yyyy/MM/dd").format(new java.util.Date());
-            String objectName = "uploads/" + datePath + "/" + fileName;
-
-            // 上传文件
-            InputStream inputStream = file.getInputStream();
-            PutObjectRequest putObjectRequest = new PutObjectRequest(bucketName, objectName, inputStream);
-            ossClient.putObject(putObjectRequest);
-
-            // 返回文件访问 URL
-            String url;
-            if (urlPrefix != null && !urlPrefix.trim().isEmpty()) {
-                // 使用自定义域名
-                url = urlPrefix + "/" + objectName;
-            } else {
-                // 使用默认域名
-                url = "https://" + bucketName + "." + endpoint + "/" + objectName;
-            }
+        if (contentHash != null) {
+            objectName = registerDedup(contentHash, objectName, file.getSize(), userId);
+        }
 
-            return url;
+        // 返回文件访问 URL
+        return storageBackend.getUrl(objectName);
+    }
 
-        } finally {
-            // 关闭 OSS 客户端
-            if (ossClient != null) {
-                ossClient.shutdown();
-            }
+    /**
+     * 流式上传文件
+     * 边读边写到存储后端（OSS 分片上传 / 本地 transferFrom），不在内存中缓存整个文件
+     * 
+     * @param inputStream      请求体输入流
+     * @param originalFilename 原始文件名
+     * @param contentType      文件类型
+     * @param userId           上传用户ID
+     * @return 上传结果
+     * @throws Exception 上传异常
+     */
+    @Override
+    public FileUploadVO uploadStream(InputStream inputStream, String originalFilename, String contentType,
+            Integer userId) throws Exception {
+        // 文件类型验证（业务规则）
+        if (contentType == null || !isAllowedType(contentType)) {
+            throw new IllegalArgumentException("不支持的文件类型：" + contentType);
+        }
+
+        String objectName = buildObjectName(originalFilename);
+
+        // 去重模式：边上传边计算哈希（流式上传无法提前得知内容），上传完成后如果内容已存在则删除刚上传的文件
+        MessageDigest digest = dedupEnabled ? newSha256() : null;
+        InputStream source = digest != null ? new DigestInputStream(inputStream, digest) : inputStream;
+
+        long size = storageBackend.putStream(objectName, source, streamMaxSize);
+        if (size == 0) {
+            storageBackend.delete(objectName);
+            throw new IllegalArgumentException("文件为空");
         }
+
+        if (digest != null) {
+            objectName = registerDedup(HexFormat.of().formatHex(digest.digest()), objectName, size, userId);
+        }
+
+        return FileUploadVO.builder()
+                .url(storageBackend.getUrl(objectName))
+                .fileName(originalFilename)
+                .size(size)
+                .build();
+    }
+
+    /**
+     * 登记去重索引；如果并发上传了相同内容的文件，删除刚上传的文件并使用已存在的文件
+     * 
+     * @param contentHash 文件内容哈希
+     * @param objectName  刚上传的对象名
+     * @param size        文件大小（字节）
+     * @param userId      上传用户ID
+     * @return 最终使用的对象名
+     * @throws Exception 删除异常
+     */
+    private String registerDedup(String contentHash, String objectName, long size, Integer userId)
+            throws Exception {
+        String canonical = fileObjectService.register(contentHash, objectName, size, userId);
+        if (!canonical.equals(objectName)) {
+            storageBackend.delete(objectName);
+        }
+        return canonical;
+    }
+
+    /**
+     * 计算输入流内容的 SHA-256
+     * 
+     * @param inputStream 输入流
+     * @return 十六进制哈希值
+     * @throws Exception 读取异常
+     */
+    private String sha256(InputStream inputStream) throws Exception {
+        MessageDigest digest = newSha256();
+        byte[] buffer = new byte[8192];
+        int length;
+        while ((length = inputStream.read(buffer)) != -1) {
+            digest.update(buffer, 0, length);
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    private MessageDigest newSha256() throws NoSuchAlgorithmException {
+        return MessageDigest.getInstance("SHA-256");
+    }
+
+    /**
+     * 生成对象名：uploads/yyyy/MM/dd/UUID + 原始文件扩展名
+     * 
+     * 扩展名来自用户提交的文件名，只保留 1 ~ 10 位字母数字的扩展名，其他情况（如包含 / 或 ..）丢弃扩展名
+     * 
+     * @param originalFilename 原始文件名
+     * @return 对象名
+     */
+    static String buildObjectName(String originalFilename) {
+        if (originalFilename == null) {
+            originalFilename = "unnamed";
+        }
+
+        // 生成唯一文件名：UUID + 原始文件扩展名
+        String extension = "";
+        int lastDot = originalFilename.lastIndexOf('.');
+        if (lastDot > 0 && EXTENSION_PATTERN.matcher(originalFilename.substring(lastDot)).matches()) {
+            extension = originalFilename.substring(lastDot);
+        }
+        String fileName = UUID.randomUUID().toString().replace("-", "") + extension;
+
+        // 按日期分文件夹：uploads/2025/11/03/xxx.jpg
+        String datePath = new java.text.SimpleDateFormat("yyyy/MM/dd").format(new java.util.Date());
+        return "uploads/" + datePath + "/" + fileName;
     }
 
     /**
      * 批量上传文件
+     * 每个文件作为独立任务提交到上传线程池并行执行，总耗时接近最慢的单个文件；
+     * 单个文件失败（包括空文件、类型不支持）只记录在该文件的结果中，不中断整个批次
      * 
-     * @param files 文件数组
-     * @return 文件访问 URL 列表
-     * @throws Exception 上传异常
+     * @param files  文件数组
+     * @param userId 上传用户ID
+     * @return 每个文件的上传结果，顺序与 files 一致
      */
     @Override
-    public List<String> batchUpload(MultipartFile[] files) throws Exception {
-        List<String> urls = new ArrayList<>();
+    public List<BatchUploadItemVO> batchUpload(MultipartFile[] files, Integer userId) {
+        List<CompletableFuture<BatchUploadItemVO>> futures = new ArrayList<>(files.length);
         for (MultipartFile file : files) {
-            if (file != null && !file.isEmpty()) {
-                // upload 方法内部已包含文件类型验证
-                String url = upload(file);
-                urls.add(url);
+            if (file == null || file.isEmpty()) {
+                String fileName = file != null ? file.getOriginalFilename() : null;
+                futures.add(CompletableFuture.completedFuture(failedItem(fileName, "文件为空")));
+                continue;
             }
+            futures.add(CompletableFuture.supplyAsync(() -> uploadItem(file, userId), fileUploadExecutor));
+        }
+
+        List<BatchUploadItemVO> results = new ArrayList<>(futures.size());
+        for (CompletableFuture<BatchUploadItemVO> future : futures) {
+            results.add(future.join());
+        }
+        return results;
+    }
+
+    /**
+     * 上传单个文件并转换为上传结果（不抛出异常）
+     * 
+     * @param file   上传的文件
+     * @param userId 上传用户ID
+     * @return 上传结果
+     */
+    private BatchUploadItemVO uploadItem(MultipartFile file, Integer userId) {
+        try {
+            // upload 方法内部已包含文件类型验证
+            String url = upload(file, userId);
+            return BatchUploadItemVO.builder()
+                    .fileName(file.getOriginalFilename())
+                    .success(true)
+                    .url(url)
+                    .size(file.getSize())
+                    .build();
+        } catch (IllegalArgumentException e) {
+            // 业务异常（如文件类型不支持）
+            return failedItem(file.getOriginalFilename(), e.getMessage());
+        } catch (Exception e) {
+            // 系统异常
+            log.error("批量上传文件失败: {}", file.getOriginalFilename(), e);
+            return failedItem(file.getOriginalFilename(), "上传失败：" + e.getMessage());
         }
-        return urls;
+    }
+
+    /**
+     * 构建上传失败的结果
+     * 
+     * @param fileName 文件名
+     * @param error    失败原因
+     * @return 上传结果
+     */
+    private BatchUploadItemVO failedItem(String fileName, String error) {
+        return BatchUploadItemVO.builder()
+                .fileName(fileName)
+                .success(false)
+                .error(error)
+                .build();
     }
 
     /**
@@ -145,73 +299,23 @@ public class FileServiceImpl implements FileService {
      * 删除文件
      * 
      * @param fileUrl 文件 URL
+     * @param userId  当前用户ID
      * @throws Exception 删除异常
      */
     @Override
-    public void delete(String fileUrl) throws Exception {
-        // 检查配置
-        if (endpoint == null || endpoint.trim().isEmpty()) {
-            throw new RuntimeException("未配置阿里云OSS");
-        }
-
+    public void delete(String fileUrl, Integer userId) throws Exception {
         // 从 URL 中提取 objectName
-        String objectName = extractObjectName(fileUrl);
+        String objectName = storageBackend.getObjectName(fileUrl);
         if (objectName == null) {
             throw new RuntimeException("无效的文件URL");
         }
 
-        // 创建 OSS 客户端
-        OSS ossClient = new OSSClientBuilder().build(endpoint, accessKeyId, accessKeySecret);
-
-        try {
-            // 删除文件
-            ossClient.deleteObject(bucketName, objectName);
-        } finally {
-            // 关闭 OSS 客户端
-            if (ossClient != null) {
-                ossClient.shutdown();
-            }
-        }
-    }
-
-    /**
-     * 从 URL 中提取 objectName
-     * 
-     * @param fileUrl 文件 URL
-     * @return objectName
-     */
-    private String extractObjectName(String fileUrl) {
-        try {
-            // 示例 URL:
-            // https://bucket.oss-cn-hangzhou.aliyuncs.com/uploads/2025/11/03/xxx.jpg
-            // 提取: uploads/2025/11/03/xxx.jpg
-            int index = fileUrl.indexOf(".com/");
-            if (index > 0) {
-                return fileUrl.substring(index + 5);
-            }
-            // 自定义域名: https://cdn.example.com/uploads/2025/11/03/xxx.jpg
-            index = fileUrl.indexOf("/uploads/");
-            if (index > 0) {
-                return fileUrl.substring(index + 1);
-            }
-            return null;
-        } catch (Exception e) {
-            return null;
+        // 去重模式：只释放当前用户的引用，还有其他引用时不删除文件
+        if (dedupEnabled && !fileObjectService.release(objectName, userId)) {
+            return;
         }
-    }
 
-    /**
-     * 上传到本地（开发环境使用）
-     * 
-     * @param file 上传的文件
-     * @return 文件访问 URL
-     * @throws Exception 上传异常
-     */
-    private String uploadToLocal(MultipartFile file) throws Exception {
-        // 这里返回一个模拟的 URL
-        // 实际项目中可以实现本地文件存储逻辑
-        String originalFilename = file.getOriginalFilename();
-        String fileName = UUID.randomUUID().toString().replace("-", "") + "_" + originalFilename;
-        return "http://localhost:8080/uploads/" + fileName;
+        // 删除文件
+        storageBackend.delete(objectName);
     }
 }
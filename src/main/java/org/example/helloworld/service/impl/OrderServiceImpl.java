@@ -1,29 +1,422 @@
 package org.example.helloworld.service.impl;
 
+import com.baomidou.mybatisplus.core.conditions.Wrapper;
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.baomidou.mybatisplus.extension.conditions.update.LambdaUpdateChainWrapper;
+import com.baomidou.mybatisplus.extension.conditions.update.UpdateChainWrapper;
+import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
 import com.baomidou.mybatisplus.extension.service.impl.ServiceImpl;
+import org.apache.ibatis.cursor.Cursor;
+import org.example.helloworld.dto.PageDTO;
 import org.example.helloworld.entity.OrderEntity;
+import org.example.helloworld.entity.UserEntity;
+import org.example.helloworld.loader.UserBatchLoader;
 import org.example.helloworld.mapper.OrderMapper;
 import org.example.helloworld.service.OrderService;
+import org.example.helloworld.service.OrderStatsService;
+import org.example.helloworld.vo.PageVO;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.ConcurrencyFailureException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.io.IOException;
+import java.io.Serializable;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
 
 /**
  * 订单服务实现类
  * 继承 ServiceImpl 获得 MyBatis-Plus 提供的 CRUD 方法
  * ServiceImpl<Mapper, Entity>
+ * 
+ * IService 的写方法（含链式 update() / lambdaUpdate()）都会同时维护订单统计（OrderStatsService）；
+ * 订单只能通过 OrderService 写入，不要直接使用 OrderMapper 修改 / 删除订单
  */
 @Service
 public class OrderServiceImpl extends ServiceImpl<OrderMapper, OrderEntity> implements OrderService {
 
+    /** 流式查询时每批处理的订单数 */
+    private static final int STREAM_CHUNK_SIZE = 500;
+
+    @Autowired
+    private UserBatchLoader userBatchLoader;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private OrderStatsService orderStatsService;
+
+    /**
+     * 新增订单，同时累加到订单统计
+     * 
+     * @param entity 订单
+     * @return 是否成功
+     */
+    @Override
+    @Transactional
+    public boolean save(OrderEntity entity) {
+        boolean saved = super.save(entity);
+        if (saved) {
+            orderStatsService.recordOrder(entity);
+        }
+        return saved;
+    }
+
+    /**
+     * 修改订单，统计中先减去旧订单再累加新订单
+     * 
+     * @param entity 订单（只更新非 null 字段）
+     * @return 是否成功
+     */
+    @Override
+    @Transactional
+    public boolean updateById(OrderEntity entity) {
+        OrderEntity before = baseMapper.selectById(entity.getId());
+        boolean updated = super.updateById(entity);
+        if (updated && before != null) {
+            orderStatsService.revertOrder(before);
+            orderStatsService.recordOrder(baseMapper.selectById(entity.getId()));
+        }
+        return updated;
+    }
+
+    /**
+     * 删除订单，同时从订单统计中减去
+     * 
+     * @param id 订单ID
+     * @return 是否成功
+     */
+    @Override
+    @Transactional
+    public boolean removeById(Serializable id) {
+        OrderEntity before = baseMapper.selectById(id);
+        boolean removed = super.removeById(id);
+        if (removed && before != null) {
+            orderStatsService.revertOrder(before);
+        }
+        return removed;
+    }
+
+    /**
+     * 批量新增订单，同时累加到订单统计
+     *
+     * @param entityList 订单列表
+     * @param batchSize  每批条数
+     * @return 是否成功
+     */
+    @Override
+    @Transactional
+    public boolean saveBatch(Collection<OrderEntity> entityList, int batchSize) {
+        boolean saved = super.saveBatch(entityList, batchSize);
+        if (saved) {
+            entityList.forEach(orderStatsService::recordOrder);
+        }
+        return saved;
+    }
+
+    /**
+     * 批量删除订单，同时从订单统计中减去
+     *
+     * @param list 订单ID（或订单）列表
+     * @return 是否成功
+     */
+    @Override
+    @Transactional
+    public boolean removeByIds(Collection<?> list) {
+        if (list == null || list.isEmpty()) {
+            return false;
+        }
+        List<Serializable> ids = list.stream()
+                .map(item -> item instanceof OrderEntity order ? order.getId() : (Serializable) item)
+                .toList();
+        List<OrderEntity> before = baseMapper.selectBatchIds(ids);
+        int removed = baseMapper.deleteByIds(ids);
+        checkAffectedRows(removed, before.size());
+        before.forEach(orderStatsService::revertOrder);
+        return removed > 0;
+    }
+
+    @Override
+    @Transactional
+    public boolean removeByIds(Collection<?> list, boolean useFill) {
+        return removeByIds(list);
+    }
+
+    @Override
+    @Transactional
+    public boolean removeBatchByIds(Collection<?> list, int batchSize, boolean useFill) {
+        return removeByIds(list);
+    }
+
+    @Override
+    @Transactional
+    public boolean removeById(Serializable id, boolean useFill) {
+        return removeById(id);
+    }
+
+    @Override
+    @Transactional
+    public boolean removeById(OrderEntity entity) {
+        return removeById(entity.getId());
+    }
+
+    /**
+     * 按条件修改订单，统计中先减去修改前的订单再累加修改后的订单
+     *
+     * update(wrapper)、saveOrUpdate(entity, wrapper) 也会调用这里
+     *
+     * @param entity        修改的字段（可为 null，只使用 wrapper 中的 set）
+     * @param updateWrapper 条件
+     * @return 是否成功
+     */
+    @Override
+    @Transactional
+    public boolean update(OrderEntity entity, Wrapper<OrderEntity> updateWrapper) {
+        List<OrderEntity> before = baseMapper.selectList(updateWrapper);
+        int updated = baseMapper.update(entity, updateWrapper);
+        checkAffectedRows(updated, before.size());
+        if (before.isEmpty()) {
+            return false;
+        }
+        before.forEach(orderStatsService::revertOrder);
+        baseMapper.selectBatchIds(before.stream().map(OrderEntity::getId).toList())
+                .forEach(orderStatsService::recordOrder);
+        return true;
+    }
+
+    /**
+     * 按条件删除订单，同时从订单统计中减去
+     *
+     * @param queryWrapper 条件
+     * @return 是否成功
+     */
+    @Override
+    @Transactional
+    public boolean remove(Wrapper<OrderEntity> queryWrapper) {
+        List<OrderEntity> before = baseMapper.selectList(queryWrapper);
+        int removed = baseMapper.delete(queryWrapper);
+        checkAffectedRows(removed, before.size());
+        before.forEach(orderStatsService::revertOrder);
+        return removed > 0;
+    }
+
+    /**
+     * 按列值删除订单，同时从订单统计中减去
+     *
+     * @param columnMap 列名 -> 值
+     * @return 是否成功
+     */
+    @Override
+    @Transactional
+    public boolean removeByMap(Map<String, Object> columnMap) {
+        List<OrderEntity> before = baseMapper.selectByMap(columnMap);
+        int removed = baseMapper.deleteByMap(columnMap);
+        checkAffectedRows(removed, before.size());
+        before.forEach(orderStatsService::revertOrder);
+        return removed > 0;
+    }
+
+    /**
+     * 批量修改订单：逐个调用 updateById 维护订单统计（不使用 JDBC 批量）
+     *
+     * @param entityList 订单列表
+     * @param batchSize  每批条数（不使用）
+     * @return 是否全部成功
+     */
+    @Override
+    @Transactional
+    public boolean updateBatchById(Collection<OrderEntity> entityList, int batchSize) {
+        boolean updated = true;
+        for (OrderEntity entity : entityList) {
+            updated &= updateById(entity);
+        }
+        return updated;
+    }
+
+    /**
+     * 订单不存在时新增，存在时修改，两种情况都维护订单统计
+     *
+     * @param entity 订单
+     * @return 是否成功
+     */
+    @Override
+    @Transactional
+    public boolean saveOrUpdate(OrderEntity entity) {
+        if (entity.getId() == null || baseMapper.selectById(entity.getId()) == null) {
+            return save(entity);
+        }
+        return updateById(entity);
+    }
+
+    @Override
+    @Transactional
+    public boolean saveOrUpdateBatch(Collection<OrderEntity> entityList, int batchSize) {
+        boolean saved = true;
+        for (OrderEntity entity : entityList) {
+            saved &= saveOrUpdate(entity);
+        }
+        return saved;
+    }
+
+    /**
+     * 链式修改 / 删除同样经过 update(entity, wrapper) / remove(wrapper) 维护订单统计
+     *
+     * 默认的链式 wrapper 直接调用 baseMapper，会绕过订单统计
+     */
+    @Override
+    public LambdaUpdateChainWrapper<OrderEntity> lambdaUpdate() {
+        return new LambdaUpdateChainWrapper<>(baseMapper) {
+            @Override
+            public boolean update(OrderEntity entity) {
+                return inTransaction(() -> OrderServiceImpl.this.update(entity, getWrapper()));
+            }
+
+            @Override
+            public boolean remove() {
+                return inTransaction(() -> OrderServiceImpl.this.remove(getWrapper()));
+            }
+        };
+    }
+
+    @Override
+    public UpdateChainWrapper<OrderEntity> update() {
+        return new UpdateChainWrapper<>(baseMapper) {
+            @Override
+            public boolean update(OrderEntity entity) {
+                return inTransaction(() -> OrderServiceImpl.this.update(entity, getWrapper()));
+            }
+
+            @Override
+            public boolean remove() {
+                return inTransaction(() -> OrderServiceImpl.this.remove(getWrapper()));
+            }
+        };
+    }
+
+    /**
+     * 在事务中执行（链式调用不经过 Spring 代理，@Transactional 不生效）
+     */
+    private boolean inTransaction(Supplier<Boolean> action) {
+        return Boolean.TRUE.equals(new TransactionTemplate(transactionManager).execute(status -> action.get()));
+    }
+
+    /**
+     * 写入的行数必须等于事先查询到的订单数，否则期间有并发写入，订单统计会算错，回滚事务
+     *
+     * MySQL 驱动默认返回匹配的行数（useAffectedRows=false），值未变化的行也计入
+     */
+    private void checkAffectedRows(int affected, int expected) {
+        if (affected != expected) {
+            throw new ConcurrencyFailureException("订单在修改期间被并发修改，请重试（预期 " + expected + " 行，实际 " + affected + " 行）");
+        }
+    }
+
     /**
      * 查询所有订单及其关联的用户
      * 
+     * 先查询订单，再通过 UserBatchLoader 按去重后的用户 ID 分批 IN 查询用户，
+     * SQL 条数只与用户数有关，与订单数无关；原来的 @One 关联映射每个订单都要单独查询一次用户（N+1）
+     * 
      * @return 订单列表
      */
     @Override
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public List<OrderEntity> getAllOrdersWithUsers() {
-        return baseMapper.selectAllOrdersAndUsers();
+        List<OrderEntity> orders = baseMapper.selectList(null);
+        attachUsers(orders);
+        return orders;
+    }
+
+    /**
+     * 流式查询所有订单及其关联的用户
+     * 
+     * 订单通过 MyBatis Cursor 逐行读取，每 STREAM_CHUNK_SIZE 个订单为一批填充用户后交给 consumer，
+     * 同一时间内存中只有一批订单；用户不写入请求级缓存，否则缓存会随流中的用户数增长到请求结束。
+     * 
+     * MySQL 流式结果集（fetchSize = Integer.MIN_VALUE）读完之前同一连接不能执行其他 SQL，
+     * 批量查询用户在新事务中执行：每个流式请求在整个响应期间占用一个连接，
+     * 每批查询用户时再短暂借用第二个连接，连接池大小要按并发流式请求数 × 2 预留
+     * 
+     * @param consumer 每批订单的处理函数
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public void streamAllOrdersWithUsers(Consumer<List<OrderEntity>> consumer) {
+        TransactionTemplate userLookup = new TransactionTemplate(transactionManager);
+        userLookup.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        userLookup.setReadOnly(true);
+
+        try (Cursor<OrderEntity> cursor = baseMapper.streamAll()) {
+            List<OrderEntity> chunk = new ArrayList<>(STREAM_CHUNK_SIZE);
+            for (OrderEntity order : cursor) {
+                chunk.add(order);
+                if (chunk.size() == STREAM_CHUNK_SIZE) {
+                    List<OrderEntity> orders = chunk;
+                    userLookup.executeWithoutResult(status -> attachUsers(orders, false));
+                    consumer.accept(chunk);
+                    chunk = new ArrayList<>(STREAM_CHUNK_SIZE);
+                }
+            }
+            if (!chunk.isEmpty()) {
+                List<OrderEntity> orders = chunk;
+                userLookup.executeWithoutResult(status -> attachUsers(orders, false));
+                consumer.accept(chunk);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * 分页查询订单及其关联的用户
+     * 
+     * 支持的排序字段：id、order_time、total，默认按 id 降序
+     * 
+     * @param dto 分页参数
+     * @return 分页结果
+     */
+    @Override
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public PageVO<OrderEntity> orderPage(PageDTO dto) {
+        LambdaQueryWrapper<OrderEntity> queryWrapper = new LambdaQueryWrapper<>();
+        boolean isAsc = "asc".equalsIgnoreCase(dto.getSortOrder());
+        String sortField = dto.getSortField() != null ? dto.getSortField().trim() : "";
+        switch (sortField) {
+            case "order_time":
+                queryWrapper.orderBy(true, isAsc, OrderEntity::getOrderTime);
+                break;
+            case "total":
+                queryWrapper.orderBy(true, isAsc, OrderEntity::getTotal);
+                break;
+            case "id":
+                queryWrapper.orderBy(true, isAsc, OrderEntity::getId);
+                break;
+            default:
+                // 默认按 ID 降序（最新的订单在前）
+                queryWrapper.orderByDesc(OrderEntity::getId);
+        }
+
+        Page<OrderEntity> page = baseMapper.selectPage(new Page<>(dto.getPageNum(), dto.getPageSize()), queryWrapper);
+        attachUsers(page.getRecords());
+
+        return PageVO.<OrderEntity>builder()
+                .total(page.getTotal())
+                .pages(page.getPages())
+                .current(page.getCurrent())
+                .size(page.getSize())
+                .records(page.getRecords())
+                .build();
     }
 
     /**
@@ -33,11 +426,36 @@ public class OrderServiceImpl extends ServiceImpl<OrderMapper, OrderEntity> impl
      * @return 订单列表
      */
     @Override
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public List<OrderEntity> getOrdersByUserId(Integer uid) {
         if (uid == null) {
             throw new RuntimeException("用户ID不能为空");
         }
         return baseMapper.selectByUid(uid);
     }
+
+    /**
+     * 为订单填充关联的用户
+     * 
+     * @param orders 订单列表
+     */
+    private void attachUsers(List<OrderEntity> orders) {
+        attachUsers(orders, true);
+    }
+
+    /**
+     * 为订单填充关联的用户
+     * 
+     * @param orders  订单列表
+     * @param memoize 是否使用请求级缓存（流式查询不使用）
+     */
+    private void attachUsers(List<OrderEntity> orders, boolean memoize) {
+        List<Integer> uids = orders.stream().map(OrderEntity::getUid).toList();
+        Map<Integer, UserEntity> users = memoize ? userBatchLoader.loadMany(uids)
+                : userBatchLoader.loadManyWithoutMemo(uids);
+        for (OrderEntity order : orders) {
+            order.setUser(users.get(order.getUid()));
+        }
+    }
 }
 
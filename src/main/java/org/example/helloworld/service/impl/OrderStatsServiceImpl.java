@@ -0,0 +1,157 @@
+package org.example.helloworld.service.impl;
+
+import com.baomidou.mybatisplus.extension.service.impl.ServiceImpl;
+import jakarta.annotation.PostConstruct;
+import org.example.helloworld.entity.OrderDailyStatsEntity;
+import org.example.helloworld.entity.OrderEntity;
+import org.example.helloworld.entity.OrderUserStatsEntity;
+import org.example.helloworld.mapper.OrderDailyStatsMapper;
+import org.example.helloworld.mapper.OrderUserStatsMapper;
+import org.example.helloworld.service.OrderStatsService;
+import org.example.helloworld.vo.OrderStatsVO;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 订单统计服务实现类
+ *
+ * - order_user_stats: 每个用户一行（订单数、总额之和、最早 / 最晚订单时间）
+ * - order_daily_stats: 每个用户每天一行（订单数、总额之和），按月趋势由按天数据汇总得到
+ * - 订单写入时通过 INSERT ... ON DUPLICATE KEY UPDATE 增量累加，查询时只读汇总表，
+ *   不再对整个订单表 GROUP BY
+ * - 订单按数据库连接的 serverTimezone 分天：order_time 以该时区写入 DATETIME，
+ *   这样与初始化脚本中 MySQL 的 DATE(order_time) 分出的天一致，与 JVM 时区无关
+ */
+@Service
+public class OrderStatsServiceImpl extends ServiceImpl<OrderUserStatsMapper, OrderUserStatsEntity>
+        implements OrderStatsService {
+
+    /** 按天趋势最多返回的天数 */
+    private static final int MAX_SERIES_DAYS = 366;
+
+    /** 按月趋势最多返回的月数 */
+    private static final int MAX_SERIES_MONTHS = 36;
+
+    /** JDBC URL 中的连接时区参数（Connector/J 8.0.23 起 connectionTimeZone 取代 serverTimezone） */
+    private static final Pattern URL_TIME_ZONE = Pattern.compile("[?&](?:serverTimezone|connectionTimeZone)=([^&]+)");
+
+    @Autowired
+    private OrderDailyStatsMapper orderDailyStatsMapper;
+
+    @Value("${spring.datasource.url:}")
+    private String datasourceUrl;
+
+    /** 订单分天使用的时区 */
+    private ZoneId zone;
+
+    /**
+     * 从 JDBC URL 读取 serverTimezone，未配置时驱动按 JVM 时区写入，这里同样使用 JVM 时区
+     */
+    @PostConstruct
+    public void initZone() {
+        Matcher matcher = URL_TIME_ZONE.matcher(datasourceUrl);
+        zone = matcher.find()
+                ? ZoneId.of(URLDecoder.decode(matcher.group(1), StandardCharsets.UTF_8))
+                : ZoneId.systemDefault();
+    }
+
+    @Override
+    public void recordOrder(OrderEntity order) {
+        if (order.getUid() == null) {
+            return;
+        }
+        long total = order.getTotal() != null ? order.getTotal() : 0;
+        baseMapper.addOrder(order.getUid(), total, order.getOrderTime());
+        if (order.getOrderTime() != null) {
+            orderDailyStatsMapper.addOrder(order.getUid(), toDate(order), total);
+        }
+    }
+
+    @Override
+    public void revertOrder(OrderEntity order) {
+        if (order.getUid() == null) {
+            return;
+        }
+        long total = order.getTotal() != null ? order.getTotal() : 0;
+        baseMapper.removeOrder(order.getUid(), total);
+        if (order.getOrderTime() != null) {
+            orderDailyStatsMapper.removeOrder(order.getUid(), toDate(order), total);
+        }
+    }
+
+    /**
+     * 查询用户的订单统计
+     *
+     * 趋势日期范围默认为最近 30 天，按天最多 MAX_SERIES_DAYS 天，按月最多 MAX_SERIES_MONTHS 个月；
+     * 没有订单的时间桶不返回
+     *
+     * @param uid    用户ID
+     * @param bucket 趋势时间桶：day / month，为 null 时不返回趋势
+     * @param from   趋势开始日期（包含）
+     * @param to     趋势结束日期（包含）
+     * @return 订单统计
+     */
+    @Override
+    public OrderStatsVO getUserStats(Integer uid, String bucket, LocalDate from, LocalDate to) {
+        OrderUserStatsEntity stats = baseMapper.selectById(uid);
+        OrderStatsVO statsVO = OrderStatsVO.builder()
+                .uid(uid)
+                .orderCount(stats != null ? stats.getOrderCount() : 0L)
+                .totalSum(stats != null ? stats.getTotalSum() : 0L)
+                .firstOrderTime(stats != null ? stats.getMinOrderTime() : null)
+                .lastOrderTime(stats != null ? stats.getMaxOrderTime() : null)
+                .build();
+
+        if (bucket == null || bucket.isEmpty()) {
+            return statsVO;
+        }
+        if (!"day".equals(bucket) && !"month".equals(bucket)) {
+            throw new IllegalArgumentException("bucket 只支持 day 或 month");
+        }
+
+        LocalDate end = to != null ? to : LocalDate.now(zone);
+        LocalDate start = from != null ? from : end.minusDays(29);
+        if (start.isAfter(end)) {
+            throw new IllegalArgumentException("开始日期不能晚于结束日期");
+        }
+        if ("day".equals(bucket) && start.plusDays(MAX_SERIES_DAYS - 1).isBefore(end)) {
+            throw new IllegalArgumentException("按天统计的日期范围不能超过 " + MAX_SERIES_DAYS + " 天");
+        }
+        if ("month".equals(bucket) && YearMonth.from(start).plusMonths(MAX_SERIES_MONTHS - 1).isBefore(YearMonth.from(end))) {
+            throw new IllegalArgumentException("按月统计的日期范围不能超过 " + MAX_SERIES_MONTHS + " 个月");
+        }
+
+        List<OrderDailyStatsEntity> days = orderDailyStatsMapper.selectRange(uid, start, end);
+
+        Map<String, OrderStatsVO.Bucket> series = new LinkedHashMap<>();
+        for (OrderDailyStatsEntity day : days) {
+            String key = "day".equals(bucket) ? day.getStatDate().toString()
+                    : YearMonth.from(day.getStatDate()).toString();
+            OrderStatsVO.Bucket item = series.computeIfAbsent(key, k -> new OrderStatsVO.Bucket(k, 0L, 0L));
+            item.setOrderCount(item.getOrderCount() + day.getOrderCount());
+            item.setTotalSum(item.getTotalSum() + day.getTotalSum());
+        }
+        statsVO.setSeries(new ArrayList<>(series.values()));
+        return statsVO;
+    }
+
+    /**
+     * 订单所在的日期（serverTimezone）
+     */
+    private LocalDate toDate(OrderEntity order) {
+        return order.getOrderTime().toInstant().atZone(zone).toLocalDate();
+    }
+}
@@ -2,27 +2,166 @@ package org.example.helloworld.service.impl;
 
 import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
 import com.baomidou.mybatisplus.core.conditions.update.LambdaUpdateWrapper;
-import com.baomidou.mybatisplus.core.metadata.IPage;
+import com.baomidou.mybatisplus.core.toolkit.support.SFunction;
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
 import com.baomidou.mybatisplus.extension.service.impl.ServiceImpl;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
 import org.example.helloworld.dto.CreateProjectDTO;
 import org.example.helloworld.dto.ProjectListDTO;
 import org.example.helloworld.dto.UpdateProjectDTO;
 import org.example.helloworld.entity.ProjectEntity;
+import org.example.helloworld.exception.BusinessException;
 import org.example.helloworld.mapper.ProjectMapper;
 import org.example.helloworld.service.ProjectService;
+import org.example.helloworld.utils.BusinessCode;
+import org.example.helloworld.utils.PageCursor;
+import org.example.helloworld.vo.BatchCreateProjectItemVO;
+import org.example.helloworld.vo.CursorPageVO;
+import org.example.helloworld.vo.PageVO;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.io.Serializable;
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 /**
  * 项目服务实现类
  * 继承 ServiceImpl 获得 MyBatis-Plus 提供的 CRUD 方法
  * ServiceImpl<Mapper, Entity>
  */
+@Slf4j
 @Service
 public class ProjectServiceImpl extends ServiceImpl<ProjectMapper, ProjectEntity> implements ProjectService {
 
+    /** 总记录数缓存时间（秒） */
+    @Value("${project.count.cacheTtlSeconds:30}")
+    private long countCacheTtlSeconds;
+
+    /** 无过滤条件时是否使用表统计信息中的估算行数作为总数 */
+    @Value("${project.count.approximate:false}")
+    private boolean approximateCount;
+
+    /** 名称搜索是否使用 ngram 全文索引（需要 ft_name 索引） */
+    @Value("${project.search.fulltext:false}")
+    private boolean fulltextSearch;
+
+    /** ngram 分词长度，需要与 MySQL 的 ngram_token_size 一致 */
+    @Value("${project.search.ngramTokenSize:2}")
+    private int ngramTokenSize;
+
+    /** 项目详情缓存最大条数 */
+    @Value("${project.detail.cacheMaxSize:10000}")
+    private long detailCacheMaxSize;
+
+    /** 项目详情缓存时间（秒） */
+    @Value("${project.detail.cacheTtlSeconds:300}")
+    private long detailCacheTtlSeconds;
+
+    /** 批量创建时每个 JDBC 批次（一个事务）的行数 */
+    @Value("${project.batch.chunkSize:500}")
+    private int batchChunkSize;
+
+    /** 单次批量创建的最大行数 */
+    @Value("${project.batch.maxSize:5000}")
+    private int batchMaxSize;
+
+    /** 更新项目时使用 version 列做乐观锁（需要先给 project 表加 version 列） */
+    @Value("${project.update.optimisticLock:false}")
+    private boolean optimisticLock;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private Validator validator;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    /** 过滤条件 -> 总记录数 缓存 */
+    private Cache<String, ProjectCount> countCache;
+
+    /** 项目 ID -> 项目 缓存 */
+    private Cache<Serializable, ProjectEntity> detailCache;
+
+    /**
+     * 总记录数
+     * 
+     * @param total       总记录数
+     * @param approximate 是否为估算值
+     */
+    private record ProjectCount(long total, boolean approximate) {
+    }
+
+    @PostConstruct
+    public void initCaches() {
+        countCache = Caffeine.newBuilder()
+                .maximumSize(1_000)
+                .expireAfterWrite(Duration.ofSeconds(countCacheTtlSeconds))
+                .build();
+
+        detailCache = Caffeine.newBuilder()
+                .maximumSize(detailCacheMaxSize)
+                .expireAfterWrite(Duration.ofSeconds(detailCacheTtlSeconds))
+                .recordStats()
+                .build();
+        // 命中、未命中、淘汰等指标：/actuator/metrics/cache.gets?tag=cache:project.detail
+        CaffeineCacheMetrics.monitor(meterRegistry, detailCache, "project.detail");
+    }
+
+    /**
+     * 根据 ID 查询项目（读穿透缓存）
+     * 
+     * - 未命中时查询数据库并写入缓存，同一 ID 的并发未命中只会执行一次查询，其余请求等待结果
+     * - 项目不存在时不缓存（null 不写入缓存）
+     * - updateProject / removeById / removeByIds 之后删除对应缓存；Caffeine 删除正在加载的 key 时
+     *   会等待加载完成再删除，写操作之前开始的加载不会把旧数据留在缓存里
+     * 
+     * 返回的是缓存中的共享对象，调用方不要修改
+     * 
+     * 未命中时在主库查询（不是只读事务）：从库有复制延迟，修改后从从库加载会把旧数据重新写入缓存
+     * 
+     * @param id 项目 ID
+     * @return 项目，不存在时返回 null
+     */
+    @Override
+    public ProjectEntity getById(Serializable id) {
+        return detailCache.get(id, this::loadDetail);
+    }
+
+    /**
+     * 从数据库加载项目详情（开启乐观锁时同时查询 version 列）
+     */
+    private ProjectEntity loadDetail(Serializable id) {
+        if (!optimisticLock) {
+            return baseMapper.selectById(id);
+        }
+        return baseMapper.selectOne(new LambdaQueryWrapper<ProjectEntity>()
+                .select(ProjectEntity::getId, ProjectEntity::getName, ProjectEntity::getStatus,
+                        ProjectEntity::getCover, ProjectEntity::getCreateTime, ProjectEntity::getVersion)
+                .eq(ProjectEntity::getId, id));
+    }
+
     /**
      * 查询项目（支持多条件查询和分页）
      * 
@@ -33,28 +172,20 @@ public class ProjectServiceImpl extends ServiceImpl<ProjectMapper, ProjectEntity
      * 
      * 支持排序和分页
      * 
+     * 总记录数按过滤条件缓存（project.count.cacheTtlSeconds），新增、修改、删除项目时清空；
+     * 开启 project.count.approximate 后，无过滤条件的查询使用表统计信息中的估算行数
+     * 
      * @param dto 查询条件 DTO，如果为 null 则查询所有
      * @return 分页结果
      */
     @Override
-    public IPage<ProjectEntity> projectList(ProjectListDTO dto) {
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public PageVO<ProjectEntity> projectList(ProjectListDTO dto) {
         // 构建查询条件
-        LambdaQueryWrapper<ProjectEntity> queryWrapper = new LambdaQueryWrapper<>();
+        LambdaQueryWrapper<ProjectEntity> queryWrapper = buildFilter(dto);
 
-        // 如果 dto 不为 null，添加查询条件
+        // 如果 dto 不为 null，添加排序
         if (dto != null) {
-            // 1. ID 精确查询
-
-            // 2. 项目名称模糊查询
-            if (dto.getName() != null && !dto.getName().trim().isEmpty()) {
-                queryWrapper.like(ProjectEntity::getName, dto.getName().trim());
-            }
-
-            // 3. 项目状态精确查询（核心功能）
-            if (dto.getStatus() != null && !dto.getStatus().trim().isEmpty()) {
-                queryWrapper.eq(ProjectEntity::getStatus, dto.getStatus().trim());
-            }
-
             // 4. 排序
             if (dto.getSortField() != null && !dto.getSortField().trim().isEmpty()) {
                 String sortField = dto.getSortField().trim();
@@ -87,12 +218,229 @@ public class ProjectServiceImpl extends ServiceImpl<ProjectMapper, ProjectEntity
             queryWrapper.orderByDesc(ProjectEntity::getCreateTime);
         }
 
-        // 5. 分页查询
+        // 5. 分页查询：总数走计数缓存，分页查询本身不再执行 COUNT（searchCount=false）
         int pageNum = (dto != null && dto.getPageNum() != null) ? dto.getPageNum() : 1;
         int pageSize = (dto != null && dto.getPageSize() != null) ? dto.getPageSize() : 10;
-        Page<ProjectEntity> page = new Page<>(pageNum, pageSize);
+        ProjectCount count = count(dto, approximateCount);
+        Page<ProjectEntity> page = new Page<>(pageNum, pageSize, false);
+        page.setTotal(count.total());
+        // 只有精确的 0 才能跳过分页查询：估算行数（information_schema.TABLE_ROWS）在新表、小表上经常是 0 或过期
+        if (count.approximate() || count.total() > 0) {
+            baseMapper.selectPage(page, queryWrapper);
+        }
+
+        return PageVO.<ProjectEntity>builder()
+                .total(page.getTotal())
+                .pages(page.getPages())
+                .current(page.getCurrent())
+                .size(page.getSize())
+                .approximate(count.approximate())
+                .records(page.getRecords())
+                .build();
+    }
+
+    /**
+     * 游标分页查询项目（keyset / seek 分页）
+     * 
+     * 与页码分页的区别：
+     * - 页码分页使用 LIMIT offset, size，数据库需要扫描并丢弃前 offset 行，页码越大越慢，
+     *   并且每次都要额外执行一次 COUNT(*)
+     * - 游标分页记住上一页最后一条记录的 (排序字段, id)，下一页使用
+     *   WHERE sort_col > ? OR (sort_col = ? AND id > ?) 定位，配合 (sort_col, id) 索引，
+     *   任意深度的分页都只扫描 pageSize 行
+     * - 总记录数默认不查询，withTotal=true 时才执行 COUNT
+     * 
+     * 排序以 id 作为第二排序字段，保证排序值相同时顺序稳定、不重不漏
+     * 
+     * create_time 允许为 NULL：按 MySQL 的规则 NULL 视为最小值（升序排在最前，降序排在最后），
+     * 游标中用空字符串表示 NULL，NULL 记录之间按 id 定位
+     * 
+     * @param dto 查询条件 DTO（name、status、sortField、sortOrder、pageSize、cursor、withTotal）
+     * @return 游标分页结果
+     */
+    @Override
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public CursorPageVO<ProjectEntity> projectCursorList(ProjectListDTO dto) {
+        String sortField = resolveSortField(dto.getSortField());
+        boolean isAsc = "asc".equalsIgnoreCase(dto.getSortOrder());
+        int pageSize = dto.getPageSize() != null ? dto.getPageSize() : 10;
+
+        LambdaQueryWrapper<ProjectEntity> queryWrapper = buildFilter(dto);
+
+        // 总记录数只在需要时查询（统计的是全部匹配记录，与游标位置无关）
+        Long total = Boolean.TRUE.equals(dto.getWithTotal()) ? count(dto, false).total() : null;
+
+        SFunction<ProjectEntity, ?> sortColumn = sortColumn(sortField);
+        if (dto.getCursor() != null && !dto.getCursor().isEmpty()) {
+            PageCursor cursor = PageCursor.decode(dto.getCursor());
+            if (!sortField.equals(cursor.getSortField()) || isAsc != cursor.isAsc()) {
+                throw new IllegalArgumentException("分页游标与当前排序条件不一致，请从第一页重新查询");
+            }
+            Integer lastId = cursor.getLastId();
+            if ("id".equals(sortField)) {
+                queryWrapper.gt(isAsc, ProjectEntity::getId, lastId)
+                        .lt(!isAsc, ProjectEntity::getId, lastId);
+            } else {
+                Object lastValue = parseSortValue(sortField, cursor.getLastValue());
+                if (lastValue == null) {
+                    // 上一页停在 create_time 为 NULL 的记录：升序时后面是其余 NULL 记录和全部非 NULL 记录，降序时只剩 NULL 记录
+                    queryWrapper.and(w -> w
+                            .or(isAsc, o -> o.isNotNull(sortColumn))
+                            .or(o -> o.isNull(sortColumn)
+                                    .gt(isAsc, ProjectEntity::getId, lastId)
+                                    .lt(!isAsc, ProjectEntity::getId, lastId)));
+                } else {
+                    // 降序时 NULL 排在最后，始终在游标之后
+                    boolean nullsAfter = !isAsc && "create_time".equals(sortField);
+                    queryWrapper.and(w -> w
+                            .gt(isAsc, sortColumn, lastValue)
+                            .lt(!isAsc, sortColumn, lastValue)
+                            .or(o -> o.eq(sortColumn, lastValue)
+                                    .gt(isAsc, ProjectEntity::getId, lastId)
+                                    .lt(!isAsc, ProjectEntity::getId, lastId))
+                            .or(nullsAfter, o -> o.isNull(sortColumn)));
+                }
+            }
+        }
+
+        queryWrapper.orderBy(true, isAsc, sortColumn);
+        if (!"id".equals(sortField)) {
+            queryWrapper.orderBy(true, isAsc, ProjectEntity::getId);
+        }
+
+        // 多查一条判断是否还有下一页；searchCount=false 不执行 COUNT
+        Page<ProjectEntity> page = new Page<>(1, pageSize + 1, false);
+        List<ProjectEntity> records = baseMapper.selectPage(page, queryWrapper).getRecords();
+
+        boolean hasMore = records.size() > pageSize;
+        if (hasMore) {
+            records = records.subList(0, pageSize);
+        }
+        String nextCursor = null;
+        if (hasMore) {
+            ProjectEntity last = records.get(records.size() - 1);
+            nextCursor = new PageCursor(sortField, isAsc, last.getId(), sortValue(sortField, last)).encode();
+        }
+
+        return CursorPageVO.<ProjectEntity>builder()
+                .nextCursor(nextCursor)
+                .hasMore(hasMore)
+                .size((long) pageSize)
+                .total(total)
+                .records(records)
+                .build();
+    }
+
+    /**
+     * 构建过滤条件（名称模糊查询、状态精确查询），不包含排序
+     * 
+     * @param dto 查询条件 DTO，为 null 时不过滤
+     * @return 查询条件
+     */
+    private LambdaQueryWrapper<ProjectEntity> buildFilter(ProjectListDTO dto) {
+        LambdaQueryWrapper<ProjectEntity> queryWrapper = new LambdaQueryWrapper<>();
+        if (dto == null) {
+            return queryWrapper;
+        }
+
+        // 1. 项目名称模糊查询
+        if (dto.getName() != null && !dto.getName().trim().isEmpty()) {
+            applyNameSearch(queryWrapper, dto.getName().trim());
+        }
+
+        // 2. 项目状态精确查询（核心功能）
+        if (dto.getStatus() != null && !dto.getStatus().trim().isEmpty()) {
+            queryWrapper.eq(ProjectEntity::getStatus, dto.getStatus().trim());
+        }
+        return queryWrapper;
+    }
+
+    /**
+     * 项目名称搜索
+     * 
+     * LIKE '%关键词%' 无法使用 B-tree 索引，每次搜索都是全表扫描。
+     * 开启 project.search.fulltext 后，先用 name 上的 ngram 全文索引按短语查找候选记录
+     * （MATCH ... AGAINST('"关键词"' IN BOOLEAN MODE)），再用 LIKE 在候选记录上精确过滤，
+     * 全文索引由 MySQL 在增删改时自动维护。
+     * 
+     * 全文索引只在能保证不漏掉 LIKE 结果时使用，其余情况仍然只用 LIKE：
+     * - 关键词短于 ngram_token_size：拆不出完整的 ngram
+     * - 关键词包含空白或标点：ngram 解析器在这些字符处断开，短语匹配与子串匹配不等价
+     * 另外要求 MySQL 关闭全文索引停用词（innodb_ft_enable_stopword=OFF，见 QUICK_START.md），
+     * 否则包含停用词（如英文字母 a、i）的 ngram 不会写入索引，MATCH 会漏掉这些记录
+     * 
+     * @param queryWrapper 查询条件
+     * @param keyword      关键词（已去除首尾空格）
+     */
+    private void applyNameSearch(LambdaQueryWrapper<ProjectEntity> queryWrapper, String keyword) {
+        if (fulltextSearch && isTokenizable(keyword)) {
+            queryWrapper.apply("MATCH(name) AGAINST({0} IN BOOLEAN MODE)", "\"" + keyword + "\"");
+        }
+        queryWrapper.like(ProjectEntity::getName, keyword);
+    }
+
+    /**
+     * 关键词能否完整拆分为 ngram：长度不小于 ngram_token_size，且只包含字母、数字（含中文）
+     */
+    private boolean isTokenizable(String keyword) {
+        return keyword.codePointCount(0, keyword.length()) >= ngramTokenSize
+                && keyword.codePoints().allMatch(Character::isLetterOrDigit);
+    }
+
+    /**
+     * 游标分页的排序字段，未指定或不支持时使用 create_time
+     * 
+     * @param sortField 请求的排序字段
+     * @return 排序字段（数据库字段名）
+     */
+    private String resolveSortField(String sortField) {
+        if (sortField == null) {
+            return "create_time";
+        }
+        return switch (sortField.trim()) {
+            case "id", "name", "status", "create_time" -> sortField.trim();
+            default -> "create_time";
+        };
+    }
+
+    private SFunction<ProjectEntity, ?> sortColumn(String sortField) {
+        return switch (sortField) {
+            case "id" -> ProjectEntity::getId;
+            case "name" -> ProjectEntity::getName;
+            case "status" -> ProjectEntity::getStatus;
+            default -> ProjectEntity::getCreateTime;
+        };
+    }
 
-        return baseMapper.selectPage(page, queryWrapper);
+    /**
+     * 取记录的排序字段值，写入游标（create_time 为 NULL 时写入空字符串）
+     */
+    private String sortValue(String sortField, ProjectEntity project) {
+        return switch (sortField) {
+            case "id" -> String.valueOf(project.getId());
+            case "name" -> project.getName();
+            case "status" -> project.getStatus();
+            default -> project.getCreateTime() != null ? project.getCreateTime().toString() : "";
+        };
+    }
+
+    /**
+     * 将游标中的排序字段值还原为查询参数
+     * 
+     * @return 排序字段值，create_time 为 NULL 时返回 null
+     */
+    private Object parseSortValue(String sortField, String value) {
+        if (!"create_time".equals(sortField)) {
+            return value;
+        }
+        if (value.isEmpty()) {
+            return null;
+        }
+        try {
+            return LocalDateTime.parse(value);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("无效的分页游标");
+        }
     }
 
     /**
@@ -105,11 +453,7 @@ public class ProjectServiceImpl extends ServiceImpl<ProjectMapper, ProjectEntity
     @Override
     public ProjectEntity createProject(CreateProjectDTO dto) {
         // DTO 转 Entity
-        ProjectEntity project = new ProjectEntity();
-        project.setName(dto.getName());
-        project.setStatus(dto.getStatus());
-        project.setCover(dto.getCover());
-        project.setCreateTime(LocalDateTime.now()); // 设置创建时间
+        ProjectEntity project = toEntity(dto, LocalDateTime.now());
 
         // 保存到数据库
         boolean success = super.save(project);
@@ -117,7 +461,103 @@ public class ProjectServiceImpl extends ServiceImpl<ProjectMapper, ProjectEntity
             // 如果保存失败，抛出运行时异常，由全局异常处理器返回 HTTP 500
             throw new RuntimeException("创建项目失败");
         }
+        countCache.invalidateAll();
+
+        return project;
+    }
+
+    /**
+     * 批量创建项目
+     * 
+     * - 每一行单独校验（与 POST /project 相同的 Bean Validation 规则），校验失败的行不写入，在结果中返回原因
+     * - 校验通过的行按 project.batch.chunkSize 分批，每批在一个事务中用 BATCH 执行器一次提交
+     *   （MySQL 连接开启了 rewriteBatchedStatements，一批合并为一条多行 INSERT）
+     * - 某一批写入失败时该批回滚，其中的行都标记为失败，其他批次不受影响
+     * 
+     * @param dtos 创建项目 DTO 列表
+     * @return 每一行的创建结果（与请求顺序一致）
+     */
+    @Override
+    public List<BatchCreateProjectItemVO> createProjects(List<CreateProjectDTO> dtos) {
+        if (dtos == null || dtos.isEmpty()) {
+            throw new IllegalArgumentException("项目列表不能为空");
+        }
+        if (dtos.size() > batchMaxSize) {
+            throw new IllegalArgumentException("单次最多创建 " + batchMaxSize + " 个项目");
+        }
+
+        BatchCreateProjectItemVO[] results = new BatchCreateProjectItemVO[dtos.size()];
+        List<Integer> indexes = new ArrayList<>(dtos.size());
+        List<ProjectEntity> projects = new ArrayList<>(dtos.size());
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < dtos.size(); i++) {
+            String error = validate(dtos.get(i));
+            if (error != null) {
+                results[i] = BatchCreateProjectItemVO.builder().index(i).success(false).error(error).build();
+            } else {
+                indexes.add(i);
+                projects.add(toEntity(dtos.get(i), now));
+            }
+        }
+
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        for (int from = 0; from < projects.size(); from += batchChunkSize) {
+            int to = Math.min(from + batchChunkSize, projects.size());
+            List<ProjectEntity> chunk = projects.subList(from, to);
+            boolean saved;
+            try {
+                transaction.executeWithoutResult(status -> saveBatch(chunk, chunk.size()));
+                saved = true;
+            } catch (RuntimeException e) {
+                log.warn("批量创建项目失败，第 {} ~ {} 行已回滚", indexes.get(from), indexes.get(to - 1), e);
+                saved = false;
+            }
+            for (int k = from; k < to; k++) {
+                int index = indexes.get(k);
+                results[index] = saved
+                        ? BatchCreateProjectItemVO.builder().index(index).success(true).id(projects.get(k).getId()).build()
+                        : BatchCreateProjectItemVO.builder().index(index).success(false).error("保存失败，同一批次的项目均未创建").build();
+            }
+        }
+        if (!projects.isEmpty()) {
+            countCache.invalidateAll();
+        }
+        return Arrays.asList(results);
+    }
+
+    /**
+     * 校验单个创建项目 DTO
+     * 
+     * @param dto 创建项目 DTO
+     * @return 校验失败的原因，通过时返回 null
+     */
+    private String validate(CreateProjectDTO dto) {
+        if (dto == null) {
+            return "项目数据不能为空";
+        }
+        Set<ConstraintViolation<CreateProjectDTO>> violations = validator.validate(dto);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(ConstraintViolation::getMessage)
+                .sorted()
+                .collect(Collectors.joining("; "));
+    }
 
+    /**
+     * DTO 转 Entity
+     * 
+     * @param dto        创建项目 DTO
+     * @param createTime 创建时间
+     * @return 项目实体
+     */
+    private ProjectEntity toEntity(CreateProjectDTO dto, LocalDateTime createTime) {
+        ProjectEntity project = new ProjectEntity();
+        project.setName(dto.getName());
+        project.setStatus(dto.getStatus());
+        project.setCover(dto.getCover());
+        project.setCreateTime(createTime);
         return project;
     }
 
@@ -137,18 +577,23 @@ public class ProjectServiceImpl extends ServiceImpl<ProjectMapper, ProjectEntity
      * - status: 必填字段，不允许清空
      * - cover: 可选字段，允许清空；如果未传则不更新
      * 
+     * 只执行一条 UPDATE，不再先查询是否存在、更新后再查询一次：
+     * - 项目是否存在由 UPDATE 的影响行数判断（MySQL 驱动默认返回匹配行数，值没有变化时也是 1）
+     * - MySQL 没有 UPDATE ... RETURNING：开启乐观锁且带版本号更新成功时，UPDATE 已经证明缓存中同版本的行就是更新前的行，
+     *   返回值由更新前的详情缓存合并本次传入的字段得到；其他情况（未开启乐观锁、不传版本号、缓存未命中或版本号对不上）
+     *   缓存可能已过期（其他请求或其他实例的修改），更新后重新查询一次并写入缓存
+     * 
+     * 乐观锁（project.update.optimisticLock=true）：每次更新 version + 1；
+     * dto.version 不为空时只在版本号一致时更新，不一致抛出 PROJECT_VERSION_CONFLICT
+     * 
      * @param id  项目 ID
      * @param dto 更新项目 DTO
-     * @return 是否更新成功
+     * @return 更新后的项目，项目不存在时返回 null
      */
     @Override
-    public boolean updateProject(Integer id, UpdateProjectDTO dto) {
-        // 检查项目是否存在
-        ProjectEntity existingProject = baseMapper.selectById(id);
-        if (existingProject == null) {
-            // 项目不存在，返回 false
-            return false;
-        }
+    public ProjectEntity updateProject(Integer id, UpdateProjectDTO dto) {
+        // 更新前的缓存（只读，合并时复制一份）
+        ProjectEntity before = detailCache.getIfPresent(id);
 
         // 使用 LambdaUpdateWrapper 只更新已设置的字段
         LambdaUpdateWrapper<ProjectEntity> updateWrapper = new LambdaUpdateWrapper<>();
@@ -176,7 +621,96 @@ public class ProjectServiceImpl extends ServiceImpl<ProjectMapper, ProjectEntity
         }
         // 如果 coverSet = false（字段不存在），不更新 cover，保持原值
 
-        // 执行更新
-        return this.update(updateWrapper);
+        if (optimisticLock) {
+            updateWrapper.setSql("version = version + 1");
+            if (dto.getVersion() != null) {
+                updateWrapper.eq(ProjectEntity::getVersion, dto.getVersion());
+            }
+        }
+
+        // 执行更新（name / status 变化会影响按条件统计的总数）
+        int rows = baseMapper.update(null, updateWrapper);
+        detailCache.invalidate(id);
+        countCache.invalidateAll();
+
+        if (rows == 0) {
+            if (optimisticLock && dto.getVersion() != null
+                    && baseMapper.exists(new LambdaQueryWrapper<ProjectEntity>().eq(ProjectEntity::getId, id))) {
+                throw new BusinessException(BusinessCode.PROJECT_VERSION_CONFLICT);
+            }
+            return null;
+        }
+
+        // 只有版本号校验通过、且缓存中正是这个版本时才能合并；否则无法确认缓存是否是更新前的最新数据
+        boolean mergeable = before != null && optimisticLock
+                && dto.getVersion() != null && dto.getVersion().equals(before.getVersion());
+        if (!mergeable) {
+            return detailCache.get(id, this::loadDetail);
+        }
+        ProjectEntity updated = new ProjectEntity();
+        updated.setId(before.getId());
+        updated.setName(dto.getName().trim());
+        updated.setStatus(dto.getStatus().trim());
+        updated.setCover(before.getCover());
+        if (dto.isCoverSet() && dto.getCover() != null) {
+            updated.setCover(dto.getCover().trim().isEmpty() ? null : dto.getCover().trim());
+        }
+        updated.setCreateTime(before.getCreateTime());
+        if (optimisticLock) {
+            updated.setVersion(dto.getVersion() + 1);
+        }
+        return updated;
+    }
+
+    /**
+     * 删除项目（清空计数缓存和详情缓存）
+     */
+    @Override
+    public boolean removeById(Serializable id) {
+        boolean removed = super.removeById(id);
+        detailCache.invalidate(id);
+        countCache.invalidateAll();
+        return removed;
+    }
+
+    /**
+     * 批量删除项目（清空计数缓存和详情缓存）
+     */
+    @Override
+    public boolean removeByIds(Collection<?> list) {
+        boolean removed = super.removeByIds(list);
+        for (Object id : list) {
+            detailCache.invalidate((Serializable) id);
+        }
+        countCache.invalidateAll();
+        return removed;
+    }
+
+    /**
+     * 查询匹配过滤条件的总记录数（带缓存）
+     * 
+     * 缓存以规范化后的过滤条件（name、status 去除首尾空格）为 key，分页和排序参数不影响总数。
+     * 写操作清空缓存；与写操作并发的查询可能把旧值写回缓存，最多保留 TTL 时长
+     * 
+     * @param dto              查询条件 DTO
+     * @param allowApproximate 无过滤条件时是否允许使用估算行数
+     * @return 总记录数
+     */
+    private ProjectCount count(ProjectListDTO dto, boolean allowApproximate) {
+        String name = dto != null && dto.getName() != null ? dto.getName().trim() : "";
+        String status = dto != null && dto.getStatus() != null ? dto.getStatus().trim() : "";
+        boolean approximate = allowApproximate && name.isEmpty() && status.isEmpty();
+        String key = (approximate ? "~" : "") + name.length() + ":" + name + "|" + status;
+
+        return countCache.get(key, k -> {
+            if (approximate) {
+                // InnoDB 的 TABLE_ROWS 是采样估算值，误差可能达到 40%，但不需要扫描表
+                Long estimated = baseMapper.selectApproximateCount();
+                if (estimated != null) {
+                    return new ProjectCount(estimated, true);
+                }
+            }
+            return new ProjectCount(baseMapper.selectCount(buildFilter(dto)), false);
+        });
     }
 }
@@ -1,17 +1,29 @@
 package org.example.helloworld.service.impl;
 
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
 import com.baomidou.mybatisplus.core.conditions.query.QueryWrapper;
 import com.baomidou.mybatisplus.extension.service.impl.ServiceImpl;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PostConstruct;
 import org.example.helloworld.entity.UserEntity;
 import org.example.helloworld.exception.BusinessException;
 import org.example.helloworld.mapper.UserMapper;
+import org.example.helloworld.security.PasswordHasher;
+import org.example.helloworld.security.PasswordHasher.VerifyResult;
 import org.example.helloworld.service.UserService;
 import org.example.helloworld.utils.BusinessCode;
 import org.example.helloworld.utils.JwtUtil;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
 import org.springframework.stereotype.Service;
-import org.springframework.util.DigestUtils;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
 
-import java.nio.charset.StandardCharsets;
+import java.io.Serializable;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * 用户服务实现类
@@ -21,6 +33,86 @@ import java.nio.charset.StandardCharsets;
 @Service
 public class UserServiceImpl extends ServiceImpl<UserMapper, UserEntity> implements UserService {
 
+  /**
+   * 是否启用用户名缓存
+   * 
+   * 缓存只在当前实例内有效：注册、修改密码只清除本实例的缓存，其他实例在 TTL 内仍可能认为新用户不存在、
+   * 或仍接受旧密码；部署多个实例时关闭（user.cache.enabled=false），每次登录直接查询数据库
+   */
+  @Value("${user.cache.enabled:true}")
+  private boolean cacheEnabled;
+
+  /** 用户名缓存最大条数 */
+  @Value("${user.cache.maxSize:10000}")
+  private long cacheMaxSize;
+
+  /** 已存在用户的缓存时间（秒） */
+  @Value("${user.cache.ttlSeconds:300}")
+  private long cacheTtlSeconds;
+
+  /** 不存在的用户名的缓存时间（秒），防止用不存在的用户名反复登录打到数据库 */
+  @Value("${user.cache.negativeTtlSeconds:30}")
+  private long negativeTtlSeconds;
+
+  @Autowired
+  private PasswordHasher passwordHasher;
+
+  /** 用户名 -> 用户 缓存（包含密码，只在服务内部使用） */
+  private Cache<String, UserEntity> usernameCache;
+
+  /** 不存在的用户名 */
+  private Cache<String, Boolean> unknownUsernames;
+
+  /** 注册次数，用于判断查询期间是否有注册（见 findCachedByUsername） */
+  private final AtomicLong registrations = new AtomicLong();
+
+  @PostConstruct
+  public void initCaches() {
+    usernameCache = Caffeine.newBuilder()
+        .maximumSize(cacheMaxSize)
+        .expireAfterWrite(Duration.ofSeconds(cacheTtlSeconds))
+        .build();
+    unknownUsernames = Caffeine.newBuilder()
+        .maximumSize(cacheMaxSize)
+        .expireAfterWrite(Duration.ofSeconds(negativeTtlSeconds))
+        .build();
+  }
+
+  /**
+   * 按用户名查询用户（带缓存）
+   * 
+   * - 命中缓存时不查询数据库；同一用户名的并发未命中只查询一次
+   * - 不存在的用户名缓存 negativeTtlSeconds 秒，注册时清除
+   * - 查询到写入"不存在"之间如果有注册，撤销这次写入：否则查询结果已经过期，
+   *   却在注册清除缓存之后才写入，新用户在 negativeTtlSeconds 内无法登录
+   * 
+   * 返回的是缓存中的共享对象（包含密码），不能修改，也不能直接返回给调用方
+   * 
+   * @param username 用户名
+   * @return 用户，不存在时返回 null
+   */
+  private UserEntity findCachedByUsername(String username) {
+    if (!cacheEnabled) {
+      return selectByUsername(username);
+    }
+    if (unknownUsernames.getIfPresent(username) != null) {
+      return null;
+    }
+    long generation = registrations.get();
+    UserEntity user = usernameCache.get(username, this::selectByUsername);
+    if (user == null) {
+      unknownUsernames.put(username, Boolean.TRUE);
+      if (registrations.get() != generation) {
+        unknownUsernames.invalidate(username);
+      }
+    }
+    return user;
+  }
+
+  private UserEntity selectByUsername(String username) {
+    return baseMapper.selectOne(new LambdaQueryWrapper<UserEntity>().eq(UserEntity::getUsername, username));
+  }
+
   /**
    * 用户登录
    * 
@@ -30,31 +122,54 @@ public class UserServiceImpl extends ServiceImpl<UserMapper, UserEntity> impleme
    */
   @Override
   public String login(String username, String password) {
-    // 查询用户（使用 baseMapper 或 this.getOne()）
-    QueryWrapper<UserEntity> queryWrapper = new QueryWrapper<>();
-    queryWrapper.eq("username", username);
-    UserEntity user = this.getOne(queryWrapper);
+    // 查询用户（走用户名缓存，username 上有唯一索引，最多一条）
+    UserEntity user = findCachedByUsername(username);
 
     // 验证用户
     if (user == null) {
-      // 不暴露用户是否存在，避免用户枚举攻击
+      // 不暴露用户是否存在，避免用户枚举攻击：同样计算一次 BCrypt，响应时间与密码错误一致
+      passwordHasher.verifyDummy(password);
       throw new BusinessException(BusinessCode.LOGIN_FAILED);
     }
 
-    // 验证密码（这里简单比较，实际项目中应该使用加密后的密码比较）
-    // 如果数据库存储的是加密密码，需要将输入的密码加密后再比较
-    if (!password.equals(user.getPassword())) {
+    // 验证密码（BCrypt，在密码哈希线程池中计算；排队已满时抛出 SYSTEM_BUSY）
+    VerifyResult result = passwordHasher.verify(password, user.getPassword());
+    if (!result.matched()) {
       throw new BusinessException(BusinessCode.LOGIN_FAILED);
     }
 
+    // 旧的明文密码或 cost 调整前的哈希，登录成功后写回新哈希
+    if (result.upgradedHash() != null) {
+      upgradePassword(user, result.upgradedHash());
+    }
+
     // 生成 token（subject 存储用户ID，username 作为附加信息）
     String token = JwtUtil.generateToken(user.getId(), user.getUsername());
     return token;
   }
 
+  /**
+   * 写回升级后的密码哈希
+   * 
+   * 条件中带上旧密码，期间密码已被修改时不覆盖
+   * 
+   * @param user    用户（缓存中的对象，不修改）
+   * @param newHash 新的密码哈希
+   */
+  private void upgradePassword(UserEntity user, String newHash) {
+    this.lambdaUpdate()
+        .set(UserEntity::getPassword, newHash)
+        .eq(UserEntity::getId, user.getId())
+        .eq(UserEntity::getPassword, user.getPassword())
+        .update();
+    usernameCache.invalidate(user.getUsername());
+  }
+
   /**
    * 根据用户名查询用户
    * 
+   * 走用户名缓存，未命中时在主库查询：登录和注册共用这个缓存，从库的复制延迟会让刚注册的用户被缓存为不存在
+   * 
    * @param username 用户名
    * @return 用户实体
    */
@@ -64,14 +179,15 @@ public class UserServiceImpl extends ServiceImpl<UserMapper, UserEntity> impleme
       throw new IllegalArgumentException("用户名不能为空");
     }
 
-    QueryWrapper<UserEntity> queryWrapper = new QueryWrapper<>();
-    queryWrapper.eq("username", username);
-    UserEntity user = this.getOne(queryWrapper);
-
-    if (user != null) {
-      // 不返回密码字段
-      user.setPassword(null);
+    UserEntity cached = findCachedByUsername(username);
+    if (cached == null) {
+      return null;
     }
+
+    // 复制一份返回，不返回密码字段，也不修改缓存中的对象
+    UserEntity user = new UserEntity();
+    user.setId(cached.getId());
+    user.setUsername(cached.getUsername());
     return user;
   }
 
@@ -99,6 +215,7 @@ public class UserServiceImpl extends ServiceImpl<UserMapper, UserEntity> impleme
    * @return 用户列表
    */
   @Override
+  @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
   public java.util.List<UserEntity> findByUsername(String username) {
     QueryWrapper<UserEntity> queryWrapper = new QueryWrapper<>();
 
@@ -181,18 +298,39 @@ public class UserServiceImpl extends ServiceImpl<UserMapper, UserEntity> impleme
       throw new IllegalArgumentException("密码不能为空");
     }
 
-    // 检查用户名是否已存在（业务逻辑错误，使用 BusinessException）
-    QueryWrapper<UserEntity> queryWrapper = new QueryWrapper<>();
-    queryWrapper.eq("username", user.getUsername());
-    long count = this.count(queryWrapper);
-    if (count > 0) {
+    // 密码使用 BCrypt 哈希后保存（在密码哈希线程池中计算）
+    user.setPassword(passwordHasher.hash(user.getPassword()));
+
+    // 直接插入，用户名是否已存在由唯一索引 uk_username 判断（一次数据库往返，并发注册同名用户也只有一个成功）
+    boolean saved;
+    try {
+      saved = this.save(user);
+    } catch (DuplicateKeyException e) {
       throw new BusinessException(BusinessCode.USERNAME_ALREADY_EXISTS);
     }
+    // 先增加注册次数再清除：与 findCachedByUsername 配合，查询期间的注册不会被之后写入的"不存在"覆盖
+    registrations.incrementAndGet();
+    unknownUsernames.invalidate(user.getUsername());
+    return saved;
+  }
 
-    // 密码加密（可选，实际项目中建议使用 BCrypt 等加密方式）
-    // user.setPassword(DigestUtils.md5DigestAsHex(user.getPassword().getBytes(StandardCharsets.UTF_8)));
+  /**
+   * 修改用户（清空用户名缓存，用户名和密码都可能变化）
+   */
+  @Override
+  public boolean updateById(UserEntity entity) {
+    boolean updated = super.updateById(entity);
+    usernameCache.invalidateAll();
+    return updated;
+  }
 
-    // 插入用户（使用 MyBatis-Plus 的 save 方法）
-    return this.save(user);
+  /**
+   * 删除用户（清空用户名缓存）
+   */
+  @Override
+  public boolean removeById(Serializable id) {
+    boolean removed = super.removeById(id);
+    usernameCache.invalidateAll();
+    return removed;
   }
 }
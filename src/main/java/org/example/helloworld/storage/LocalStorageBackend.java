@@ -0,0 +1,148 @@
+package org.example.helloworld.storage;
+
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.regex.Pattern;
+
+/**
+ * 本地磁盘存储后端
+ *
+ * - 文件保存在 root 目录下，路径即对象名，如 {root}/uploads/2025/11/03/xxx.jpg
+ * - 写入使用 FileChannel.transferFrom，先写临时文件再硬链接到目标文件，读取方不会看到写了一半的文件；
+ *   目标文件已存在时写入失败，不会覆盖其他文件
+ * - 文件通过 LocalFileController（/uploads/**）提供访问，支持 Range 和 sendfile 零拷贝
+ */
+public class LocalStorageBackend implements StorageBackend {
+
+    /** 每次 transferFrom 传输的最大字节数 */
+    private static final long TRANSFER_CHUNK_SIZE = 8 * 1024 * 1024;
+
+    /** 对象名格式：uploads/yyyy/MM/dd/文件名，文件名中不能有路径分隔符 */
+    private static final Pattern OBJECT_NAME_PATTERN = Pattern.compile("^uploads/\\d{4}/\\d{2}/\\d{2}/[^/\\\\]+$");
+
+    /** 存储根目录 */
+    private final Path root;
+
+    /** 文件访问 URL 前缀，如 http://localhost:8080 */
+    private final String baseUrl;
+
+    public LocalStorageBackend(String root, String baseUrl) throws IOException {
+        this.root = Paths.get(root).toAbsolutePath().normalize();
+        this.baseUrl = baseUrl.endsWith("/") ? baseUrl.substring(0, baseUrl.length() - 1) : baseUrl;
+        Files.createDirectories(this.root);
+    }
+
+    @Override
+    public void put(String objectName, InputStream inputStream, long size) throws IOException {
+        write(objectName, inputStream, Long.MAX_VALUE);
+    }
+
+    @Override
+    public long putStream(String objectName, InputStream inputStream, long maxSize) throws IOException {
+        return write(objectName, inputStream, maxSize);
+    }
+
+    @Override
+    public void delete(String objectName) throws IOException {
+        Files.deleteIfExists(resolve(objectName));
+    }
+
+    @Override
+    public String getUrl(String objectName) {
+        return baseUrl + "/" + objectName;
+    }
+
+    @Override
+    public String getObjectName(String fileUrl) {
+        // 示例 URL: http://localhost:8080/uploads/2025/11/03/xxx.jpg
+        // 提取: uploads/2025/11/03/xxx.jpg
+        int index = fileUrl.indexOf("/uploads/");
+        if (index < 0) {
+            return null;
+        }
+        return fileUrl.substring(index + 1);
+    }
+
+    /**
+     * 根据对象名解析本地文件路径（防止 ../ 路径穿越）
+     *
+     * 对象名必须是 uploads/yyyy/MM/dd/文件名 的格式，且不能包含 ".."
+     *
+     * @param objectName 对象名
+     * @return 本地文件路径
+     */
+    public Path resolve(String objectName) {
+        if (objectName == null || objectName.contains("..") || !OBJECT_NAME_PATTERN.matcher(objectName).matches()) {
+            throw new IllegalArgumentException("非法的文件路径：" + objectName);
+        }
+        Path path = root.resolve(objectName).normalize();
+        if (!path.startsWith(root)) {
+            throw new IllegalArgumentException("非法的文件路径：" + objectName);
+        }
+        return path;
+    }
+
+    /**
+     * 写入文件：先写入同目录下的临时文件，完成后硬链接为目标文件
+     *
+     * 对象名由 UUID 生成，不会重复；createLink 在目标已存在时抛出 FileAlreadyExistsException，
+     * 不像 rename 那样静默覆盖已有文件
+     *
+     * @param objectName  对象名
+     * @param inputStream 文件内容
+     * @param maxSize     文件大小上限（字节）
+     * @return 写入的字节数
+     * @throws IOException 写入异常
+     */
+    private long write(String objectName, InputStream inputStream, long maxSize) throws IOException {
+        Path target = resolve(objectName);
+        Files.createDirectories(target.getParent());
+        Path temp = Files.createTempFile(target.getParent(), ".upload-", ".tmp");
+
+        try (FileChannel out = FileChannel.open(temp, StandardOpenOption.WRITE);
+                ReadableByteChannel in = openChannel(inputStream)) {
+            long position = 0;
+            while (true) {
+                // 接近上限时多读 1 字节，用于判断是否超过大小上限
+                long remaining = maxSize - position;
+                long count = remaining >= TRANSFER_CHUNK_SIZE ? TRANSFER_CHUNK_SIZE : remaining + 1;
+                long transferred = out.transferFrom(in, position, count);
+                if (transferred <= 0) {
+                    break;
+                }
+                position += transferred;
+                if (position > maxSize) {
+                    throw new IllegalArgumentException("文件大小超过限制：" + maxSize + " 字节");
+                }
+            }
+            out.force(false);
+            Files.createLink(target, temp);
+            return position;
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /**
+     * 将输入流转换为 Channel
+     * 如果是文件流（如 MultipartFile 落盘后的临时文件）直接使用 FileChannel，
+     * transferFrom 可以在内核态完成文件到文件的拷贝
+     *
+     * @param inputStream 输入流
+     * @return 可读 Channel
+     */
+    private ReadableByteChannel openChannel(InputStream inputStream) {
+        if (inputStream instanceof FileInputStream fileInputStream) {
+            return fileInputStream.getChannel();
+        }
+        return Channels.newChannel(inputStream);
+    }
+}
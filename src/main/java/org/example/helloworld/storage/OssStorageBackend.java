@@ -0,0 +1,202 @@
+package org.example.helloworld.storage;
+
+import com.aliyun.oss.OSS;
+import com.aliyun.oss.model.AbortMultipartUploadRequest;
+import com.aliyun.oss.model.CompleteMultipartUploadRequest;
+import com.aliyun.oss.model.InitiateMultipartUploadRequest;
+import com.aliyun.oss.model.ObjectMetadata;
+import com.aliyun.oss.model.PartETag;
+import com.aliyun.oss.model.PutObjectRequest;
+import com.aliyun.oss.model.UploadPartRequest;
+import lombok.extern.slf4j.Slf4j;
+import org.example.helloworld.config.OssConfig.OssClientMetrics;
+import org.example.helloworld.exception.BusinessException;
+import org.example.helloworld.utils.BusinessCode;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 阿里云 OSS 存储后端
+ *
+ * - 使用 OssConfig 创建的共享客户端（连接池复用）
+ * - 流式上传使用分片上传：请求体按 partSize 读入固定大小的缓冲区，每填满一个缓冲区就作为一个分片上传，
+ *   缓冲区在分片和上传之间复用，单次上传占用的堆内存只有一个分片大小，与文件大小无关
+ */
+@Slf4j
+public class OssStorageBackend implements StorageBackend {
+
+    private final OSS ossClient;
+
+    private final OssClientMetrics ossClientMetrics;
+
+    private final String endpoint;
+
+    private final String bucketName;
+
+    private final String urlPrefix;
+
+    /** 流式上传的分片大小（字节） */
+    private final int partSize;
+
+    /** 等待空闲分片缓冲区的最长时间（秒） */
+    private final long bufferWaitSeconds;
+
+    /** 流式上传许可，限制同时存在的分片缓冲区数量 */
+    private final Semaphore streamPermits;
+
+    /** 空闲的分片缓冲区（按需分配，最多 maxConcurrent 个） */
+    private final Queue<byte[]> streamBuffers = new ConcurrentLinkedQueue<>();
+
+    public OssStorageBackend(OSS ossClient, OssClientMetrics ossClientMetrics, String endpoint, String bucketName,
+            String urlPrefix, int partSize, int maxConcurrent, long bufferWaitSeconds) {
+        this.ossClient = ossClient;
+        this.ossClientMetrics = ossClientMetrics;
+        this.endpoint = endpoint;
+        this.bucketName = bucketName;
+        this.urlPrefix = urlPrefix;
+        this.partSize = partSize;
+        this.bufferWaitSeconds = bufferWaitSeconds;
+        this.streamPermits = new Semaphore(maxConcurrent);
+    }
+
+    @Override
+    public void put(String objectName, InputStream inputStream, long size) throws IOException {
+        ObjectMetadata metadata = new ObjectMetadata();
+        metadata.setContentLength(size);
+        PutObjectRequest putObjectRequest = new PutObjectRequest(bucketName, objectName, inputStream, metadata);
+        ossClientMetrics.record("put", () -> ossClient.putObject(putObjectRequest));
+    }
+
+    @Override
+    public long putStream(String objectName, InputStream inputStream, long maxSize) throws IOException {
+        byte[] buffer = acquireBuffer();
+        String uploadId = null;
+        try {
+            // 读取第一个分片，空文件直接拒绝
+            int length = inputStream.readNBytes(buffer, 0, buffer.length);
+            if (length == 0) {
+                throw new IllegalArgumentException("文件为空");
+            }
+
+            InitiateMultipartUploadRequest initRequest = new InitiateMultipartUploadRequest(bucketName, objectName);
+            uploadId = ossClientMetrics.record("initiate_multipart",
+                    () -> ossClient.initiateMultipartUpload(initRequest)).getUploadId();
+
+            List<PartETag> partETags = new ArrayList<>();
+            long totalSize = 0;
+            int partNumber = 1;
+            while (length > 0) {
+                totalSize += length;
+                if (totalSize > maxSize) {
+                    throw new IllegalArgumentException("文件大小超过限制：" + maxSize + " 字节");
+                }
+
+                UploadPartRequest partRequest = new UploadPartRequest(bucketName, objectName, uploadId,
+                        partNumber, new ByteArrayInputStream(buffer, 0, length), length);
+                partETags.add(ossClientMetrics.record("upload_part",
+                        () -> ossClient.uploadPart(partRequest)).getPartETag());
+
+                partNumber++;
+                length = inputStream.readNBytes(buffer, 0, buffer.length);
+            }
+
+            CompleteMultipartUploadRequest completeRequest = new CompleteMultipartUploadRequest(
+                    bucketName, objectName, uploadId, partETags);
+            ossClientMetrics.record("complete_multipart", () -> ossClient.completeMultipartUpload(completeRequest));
+            uploadId = null;
+            return totalSize;
+        } finally {
+            // 上传失败时取消分片上传，释放 OSS 上已上传的分片
+            if (uploadId != null) {
+                abortMultipartUpload(objectName, uploadId);
+            }
+            releaseBuffer(buffer);
+        }
+    }
+
+    @Override
+    public void delete(String objectName) {
+        ossClientMetrics.record("delete", () -> ossClient.deleteObject(bucketName, objectName));
+    }
+
+    @Override
+    public String getUrl(String objectName) {
+        if (urlPrefix != null && !urlPrefix.trim().isEmpty()) {
+            // 使用自定义域名
+            return urlPrefix + "/" + objectName;
+        }
+        // 使用默认域名
+        return "https://" + bucketName + "." + endpoint + "/" + objectName;
+    }
+
+    @Override
+    public String getObjectName(String fileUrl) {
+        // 示例 URL:
+        // https://bucket.oss-cn-hangzhou.aliyuncs.com/uploads/2025/11/03/xxx.jpg
+        // 提取: uploads/2025/11/03/xxx.jpg
+        int index = fileUrl.indexOf(".com/");
+        if (index > 0) {
+            return fileUrl.substring(index + 5);
+        }
+        // 自定义域名: https://cdn.example.com/uploads/2025/11/03/xxx.jpg
+        index = fileUrl.indexOf("/uploads/");
+        if (index > 0) {
+            return fileUrl.substring(index + 1);
+        }
+        return null;
+    }
+
+    /**
+     * 获取分片缓冲区，所有缓冲区都在使用中时最多等待 bufferWaitSeconds 秒
+     *
+     * 等待超时说明上传并发已满（背压，不是服务端故障），抛出 BusinessException(SYSTEM_BUSY)
+     *
+     * @return 分片缓冲区
+     */
+    private byte[] acquireBuffer() throws IOException {
+        try {
+            if (!streamPermits.tryAcquire(bufferWaitSeconds, TimeUnit.SECONDS)) {
+                throw new BusinessException(BusinessCode.SYSTEM_BUSY, "当前流式上传任务过多，请稍后重试");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("等待上传缓冲区时被中断", e);
+        }
+        byte[] buffer = streamBuffers.poll();
+        return buffer != null ? buffer : new byte[partSize];
+    }
+
+    /**
+     * 归还分片缓冲区
+     *
+     * @param buffer 分片缓冲区
+     */
+    private void releaseBuffer(byte[] buffer) {
+        streamBuffers.offer(buffer);
+        streamPermits.release();
+    }
+
+    /**
+     * 取消分片上传（失败时调用，忽略取消本身的异常）
+     *
+     * @param objectName 对象名
+     * @param uploadId   分片上传 ID
+     */
+    private void abortMultipartUpload(String objectName, String uploadId) {
+        try {
+            AbortMultipartUploadRequest abortRequest = new AbortMultipartUploadRequest(bucketName, objectName,
+                    uploadId);
+            ossClientMetrics.record("abort_multipart", () -> ossClient.abortMultipartUpload(abortRequest));
+        } catch (Exception e) {
+            log.warn("取消分片上传失败: objectName={}, uploadId={}", objectName, uploadId, e);
+        }
+    }
+}
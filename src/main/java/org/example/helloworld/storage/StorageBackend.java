@@ -0,0 +1,61 @@
+package org.example.helloworld.storage;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * 文件存储后端接口
+ *
+ * FileService 只负责业务规则（类型校验、对象命名），文件的实际读写交给存储后端：
+ * - OssStorageBackend: 阿里云 OSS（生产环境）
+ * - LocalStorageBackend: 本地磁盘（开发环境、离线部署、压测）
+ *
+ * 使用哪个后端由 file.storage.type 决定，见 StorageConfig
+ */
+public interface StorageBackend {
+
+    /**
+     * 保存文件（大小已知，如 MultipartFile）
+     *
+     * @param objectName  对象名，如 uploads/2025/11/03/xxx.jpg
+     * @param inputStream 文件内容
+     * @param size        文件大小（字节）
+     * @throws IOException 写入异常
+     */
+    void put(String objectName, InputStream inputStream, long size) throws IOException;
+
+    /**
+     * 流式保存文件（大小未知，边读边写，不在内存中缓存整个文件）
+     *
+     * @param objectName  对象名
+     * @param inputStream 文件内容
+     * @param maxSize     文件大小上限（字节），超过时抛出 IllegalArgumentException
+     * @return 实际写入的字节数
+     * @throws IOException 写入异常
+     */
+    long putStream(String objectName, InputStream inputStream, long maxSize) throws IOException;
+
+    /**
+     * 删除文件
+     *
+     * @param objectName 对象名
+     * @throws IOException 删除异常
+     */
+    void delete(String objectName) throws IOException;
+
+    /**
+     * 根据对象名生成文件访问 URL
+     *
+     * @param objectName 对象名
+     * @return 文件访问 URL
+     */
+    String getUrl(String objectName);
+
+    /**
+     * 从文件访问 URL 中解析对象名
+     *
+     * @param fileUrl 文件访问 URL
+     * @return 对象名，无法解析时返回 null
+     */
+    String getObjectName(String fileUrl);
+}
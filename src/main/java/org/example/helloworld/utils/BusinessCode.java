@@ -55,6 +55,11 @@ public enum BusinessCode {
      */
     PROJECT_NOT_FOUND(20001, "项目不存在"),
 
+    /**
+     * 项目已被修改（乐观锁版本号不一致）
+     */
+    PROJECT_VERSION_CONFLICT(20002, "项目已被修改，请刷新后重试"),
+
     // ==================== 订单相关 3xxxx ====================
     /**
      * 订单不存在
@@ -91,7 +96,12 @@ public enum BusinessCode {
     /**
      * 操作失败
      */
-    OPERATION_FAILED(50002, "操作失败");
+    OPERATION_FAILED(50002, "操作失败"),
+
+    /**
+     * 系统繁忙（线程池排队已满，主动拒绝请求）
+     */
+    SYSTEM_BUSY(50003, "系统繁忙，请稍后重试");
 
     /**
      * 业务状态码
@@ -0,0 +1,34 @@
+package org.example.helloworld.utils;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * JWT 解析结果（已验签的用户身份）
+ * 一次解析得到 userId、username 和过期时间，避免对同一个 Token 重复验签
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+public class JwtPrincipal {
+
+  /** 用户ID（Token subject） */
+  private final Integer userId;
+
+  /** 用户名（Token 附加信息） */
+  private final String username;
+
+  /** 过期时间（毫秒时间戳，对应 exp claim） */
+  private final long expiresAtMillis;
+
+  /**
+   * 判断 Token 是否已过期
+   *
+   * @param nowMillis 当前时间（毫秒时间戳）
+   * @return true 表示已过期
+   */
+  public boolean isExpired(long nowMillis) {
+    return nowMillis >= expiresAtMillis;
+  }
+}
@@ -1,6 +1,10 @@
 package org.example.helloworld.utils;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
 import javax.crypto.SecretKey;
@@ -8,11 +12,17 @@ import java.nio.charset.StandardCharsets;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
 /**
  * JWT 工具类
  * 用于生成和验证 JWT Token
  * subject 存储用户ID（唯一标识），username 作为附加信息存储在 claims 中
+ *
+ * 性能说明：
+ * - JwtParser 是线程安全的，全局复用一个实例
+ * - verifyToken 带有已验签 Token 的缓存，同一个 Token 重复请求时跳过 HMAC 验签和 JSON 解析
+ * - 缓存条目的过期时间不会晚于 Token 的 exp
  */
 public class JwtUtil {
   /** Token 过期时间：7天 */
@@ -27,9 +37,39 @@ public class JwtUtil {
   /** 自定义 Claims 键名 */
   private static final String CLAIM_KEY_USERNAME = "username";
 
+  /** 已验签 Token 缓存的最大条目数 */
+  private static final long TOKEN_CACHE_MAX_SIZE = 10_000;
+
+  /** 复用的 Token 解析器（线程安全） */
+  private static final JwtParser PARSER = Jwts.parser().verifyWith(KEY).build();
+
+  /** 已验签 Token 缓存：key 为 Token 原文，条目在 Token 过期时失效 */
+  private static final Cache<String, JwtPrincipal> TOKEN_CACHE = Caffeine.newBuilder()
+      .maximumSize(TOKEN_CACHE_MAX_SIZE)
+      .expireAfter(new Expiry<String, JwtPrincipal>() {
+        @Override
+        public long expireAfterCreate(String token, JwtPrincipal principal, long currentTime) {
+          long remainingMillis = principal.getExpiresAtMillis() - System.currentTimeMillis();
+          return TimeUnit.MILLISECONDS.toNanos(Math.max(remainingMillis, 0));
+        }
+
+        @Override
+        public long expireAfterUpdate(String token, JwtPrincipal principal, long currentTime,
+            long currentDuration) {
+          return currentDuration;
+        }
+
+        @Override
+        public long expireAfterRead(String token, JwtPrincipal principal, long currentTime,
+            long currentDuration) {
+          return currentDuration;
+        }
+      })
+      .build();
+
   /**
    * 生成 JWT Token
-   * 
+   *
    * @param userId   用户ID（作为 subject）
    * @param username 用户名（作为附加信息）
    * @return JWT Token 字符串
@@ -48,52 +88,79 @@ public class JwtUtil {
   }
 
   /**
-   * 验证 Token 是否有效
-   * 
+   * 解析 Token（单次验签）
+   * 一次解析同时得到用户ID、用户名和过期时间，不使用缓存
+   *
    * @param token JWT Token
-   * @return true 表示有效，false 表示无效
+   * @return 已验签的用户身份
+   * @throws io.jsonwebtoken.JwtException Token 无效、签名错误或已过期
+   * @throws IllegalArgumentException     Token 为空或缺少 subject/exp
    */
-  public static boolean validateToken(String token) {
+  public static JwtPrincipal parseToken(String token) {
+    Claims claims = PARSER.parseSignedClaims(token).getPayload();
+    if (claims.getSubject() == null || claims.getExpiration() == null) {
+      throw new IllegalArgumentException("Token 缺少 subject 或 exp");
+    }
+    return new JwtPrincipal(
+        Integer.parseInt(claims.getSubject()),
+        claims.get(CLAIM_KEY_USERNAME, String.class),
+        claims.getExpiration().getTime());
+  }
+
+  /**
+   * 验证 Token 并返回用户身份（带缓存）
+   * 同一个 Token 在过期前再次验证时直接命中缓存，不再做签名校验
+   *
+   * @param token JWT Token
+   * @return 已验签的用户身份，Token 无效或已过期时返回 null
+   */
+  public static JwtPrincipal verifyToken(String token) {
+    if (token == null || token.isEmpty()) {
+      return null;
+    }
+
+    JwtPrincipal cached = TOKEN_CACHE.getIfPresent(token);
+    if (cached != null) {
+      // 缓存过期由 Caffeine 惰性清理，这里再按 exp 兜底判断一次
+      return cached.isExpired(System.currentTimeMillis()) ? null : cached;
+    }
+
     try {
-      return Jwts.parser()
-          .verifyWith(KEY)
-          .build()
-          .parseSignedClaims(token)
-          .getPayload()
-          .getSubject() != null;
+      JwtPrincipal principal = parseToken(token);
+      TOKEN_CACHE.put(token, principal);
+      return principal;
     } catch (Exception e) {
-      return false;
+      return null;
     }
   }
 
+  /**
+   * 验证 Token 是否有效
+   *
+   * @param token JWT Token
+   * @return true 表示有效，false 表示无效
+   */
+  public static boolean validateToken(String token) {
+    return verifyToken(token) != null;
+  }
+
   /**
    * 从 Token 中提取用户ID
-   * 
+   *
    * @param token JWT Token
    * @return 用户ID
    */
   public static Integer getUserIdFromToken(String token) {
-    String subject = Jwts.parser()
-        .verifyWith(KEY)
-        .build()
-        .parseSignedClaims(token)
-        .getPayload()
-        .getSubject();
-    return Integer.parseInt(subject);
+    return parseToken(token).getUserId();
   }
 
   /**
    * 从 Token 中提取用户名
-   * 
+   *
    * @param token JWT Token
    * @return 用户名
    */
   public static String getUsernameFromToken(String token) {
-    Claims claims = Jwts.parser()
-        .verifyWith(KEY)
-        .build()
-        .parseSignedClaims(token)
-        .getPayload();
-    return claims.get(CLAIM_KEY_USERNAME, String.class);
+    return parseToken(token).getUsername();
   }
-}
\ No newline at end of file
+}
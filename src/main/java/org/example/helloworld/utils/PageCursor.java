@@ -0,0 +1,65 @@
+package org.example.helloworld.utils;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * 游标分页（keyset / seek 分页）的游标
+ *
+ * 游标记录上一页最后一条记录的排序字段值和 ID，以及排序条件，编码为 URL 安全的 Base64 字符串，
+ * 对前端来说是不透明的，原样回传即可。下一页查询使用 WHERE (sort_col, id) > (value, lastId)，
+ * 配合 (sort_col, id) 索引，无论翻到第几页都只扫描 pageSize 行。
+ */
+@Getter
+@AllArgsConstructor
+public class PageCursor {
+
+  private static final String SEPARATOR = ":";
+
+  /** 排序字段（数据库字段名） */
+  private final String sortField;
+
+  /** 是否升序 */
+  private final boolean asc;
+
+  /** 上一页最后一条记录的 ID */
+  private final Integer lastId;
+
+  /** 上一页最后一条记录的排序字段值（字符串形式） */
+  private final String lastValue;
+
+  /**
+   * 编码为不透明的游标字符串
+   *
+   * @return 游标字符串
+   */
+  public String encode() {
+    String raw = sortField + SEPARATOR + (asc ? "asc" : "desc") + SEPARATOR + lastId + SEPARATOR + lastValue;
+    return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+  }
+
+  /**
+   * 解析游标字符串
+   *
+   * @param cursor 游标字符串
+   * @return 游标
+   * @throws IllegalArgumentException 游标格式错误
+   */
+  public static PageCursor decode(String cursor) {
+    try {
+      String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+      // lastValue 可能包含分隔符，放在最后并限制拆分次数
+      String[] parts = raw.split(SEPARATOR, 4);
+      if (parts.length != 4) {
+        throw new IllegalArgumentException("无效的分页游标");
+      }
+      return new PageCursor(parts[0], "asc".equals(parts[1]), Integer.parseInt(parts[2]), parts[3]);
+    } catch (IllegalArgumentException e) {
+      // Base64 解码失败、ID 不是数字（NumberFormatException 也是 IllegalArgumentException）
+      throw new IllegalArgumentException("无效的分页游标");
+    }
+  }
+}
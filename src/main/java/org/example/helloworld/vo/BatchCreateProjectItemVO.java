@@ -0,0 +1,30 @@
+package org.example.helloworld.vo;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 批量创建中单个项目的创建结果 VO
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "单个项目创建结果")
+public class BatchCreateProjectItemVO {
+
+    @Schema(description = "在请求列表中的下标（从 0 开始）", example = "0")
+    private Integer index;
+
+    @Schema(description = "是否创建成功", example = "true")
+    private Boolean success;
+
+    @Schema(description = "项目ID（创建成功时返回）", example = "1")
+    private Integer id;
+
+    @Schema(description = "失败原因（创建失败时返回）", example = "项目名称不能为空")
+    private String error;
+}
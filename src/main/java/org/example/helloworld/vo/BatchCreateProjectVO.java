@@ -0,0 +1,29 @@
+package org.example.helloworld.vo;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * 批量创建项目响应 VO
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "批量创建项目响应")
+public class BatchCreateProjectVO {
+
+    @Schema(description = "创建成功的项目数量", example = "998")
+    private Integer count;
+
+    @Schema(description = "创建失败的项目数量", example = "2")
+    private Integer failedCount;
+
+    @Schema(description = "每个项目的创建结果（与请求中的顺序一致）")
+    private List<BatchCreateProjectItemVO> results;
+}
@@ -0,0 +1,33 @@
+package org.example.helloworld.vo;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 批量上传中单个文件的上传结果 VO
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "单个文件上传结果")
+public class BatchUploadItemVO {
+
+    @Schema(description = "文件名", example = "avatar.jpg")
+    private String fileName;
+
+    @Schema(description = "是否上传成功", example = "true")
+    private Boolean success;
+
+    @Schema(description = "文件访问URL（上传成功时返回）", example = "https://example.oss-cn-beijing.aliyuncs.com/xxx.jpg")
+    private String url;
+
+    @Schema(description = "文件大小（字节）", example = "102400")
+    private Long size;
+
+    @Schema(description = "失败原因（上传失败时返回）", example = "不支持的文件类型：text/plain")
+    private String error;
+}
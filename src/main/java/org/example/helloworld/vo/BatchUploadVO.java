@@ -18,11 +18,17 @@ import java.util.List;
 @Schema(description = "批量文件上传响应")
 public class BatchUploadVO {
     
-    @Schema(description = "文件URL列表")
+    @Schema(description = "上传成功的文件URL列表")
     private List<String> urls;
     
-    @Schema(description = "上传文件数量", example = "3")
+    @Schema(description = "上传成功的文件数量", example = "3")
     private Integer count;
+
+    @Schema(description = "上传失败的文件数量", example = "0")
+    private Integer failedCount;
+
+    @Schema(description = "每个文件的上传结果（与请求中的文件顺序一致）")
+    private List<BatchUploadItemVO> results;
 }
 
 
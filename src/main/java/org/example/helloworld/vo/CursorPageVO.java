@@ -0,0 +1,37 @@
+package org.example.helloworld.vo;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * 游标分页响应 VO
+ * 
+ * @param <T> 数据类型
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "游标分页响应")
+public class CursorPageVO<T> {
+
+    @Schema(description = "下一页游标，原样传给 cursor 参数获取下一页；没有更多数据时为 null", example = "Y3JlYXRlX3RpbWU6ZGVzYzoxMjM6MjAyNC0xMS0yNFQxNDozMA")
+    private String nextCursor;
+
+    @Schema(description = "是否还有下一页", example = "true")
+    private Boolean hasMore;
+
+    @Schema(description = "每页大小", example = "10")
+    private Long size;
+
+    @Schema(description = "总记录数（仅在 withTotal=true 时返回）", example = "100")
+    private Long total;
+
+    @Schema(description = "数据列表")
+    private List<T> records;
+}
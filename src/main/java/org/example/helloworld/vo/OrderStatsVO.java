@@ -0,0 +1,61 @@
+package org.example.helloworld.vo;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Date;
+import java.util.List;
+
+/**
+ * 用户订单统计 VO
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "用户订单统计")
+public class OrderStatsVO {
+
+    @Schema(description = "用户ID", example = "1")
+    private Integer uid;
+
+    @Schema(description = "订单数", example = "12")
+    private Long orderCount;
+
+    @Schema(description = "订单总额之和", example = "1500")
+    private Long totalSum;
+
+    @Schema(description = "最早的订单时间", example = "2025-11-01 09:30:00")
+    @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss", timezone = "GMT+8")
+    private Date firstOrderTime;
+
+    @Schema(description = "最晚的订单时间", example = "2025-11-03 12:00:00")
+    @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss", timezone = "GMT+8")
+    private Date lastOrderTime;
+
+    @Schema(description = "按时间分桶的订单趋势（请求了 bucket 时返回）")
+    private List<Bucket> series;
+
+    /**
+     * 时间桶
+     */
+    @Data
+    @AllArgsConstructor
+    @NoArgsConstructor
+    @Schema(description = "订单趋势时间桶")
+    public static class Bucket {
+
+        @Schema(description = "时间桶：按天为 yyyy-MM-dd，按月为 yyyy-MM", example = "2025-11-03")
+        private String bucket;
+
+        @Schema(description = "订单数", example = "3")
+        private Long orderCount;
+
+        @Schema(description = "订单总额之和", example = "450")
+        private Long totalSum;
+    }
+}
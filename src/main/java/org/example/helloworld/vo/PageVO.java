@@ -31,6 +31,9 @@ public class PageVO<T> {
     
     @Schema(description = "每页大小", example = "10")
     private Long size;
+
+    @Schema(description = "总记录数是否为估算值（来自表统计信息）", example = "false")
+    private Boolean approximate;
     
     @Schema(description = "数据列表")
     private List<T> records;
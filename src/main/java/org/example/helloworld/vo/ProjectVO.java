@@ -1,6 +1,7 @@
 package org.example.helloworld.vo;
 
 import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import io.swagger.v3.oas.annotations.media.Schema;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -51,6 +52,13 @@ public class ProjectVO {
   @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss", timezone = "GMT+8")
   private LocalDateTime createTime;
 
+  /**
+   * 版本号（开启乐观锁时在详情和更新响应中返回，更新时原样传回）
+   */
+  @Schema(description = "版本号（开启乐观锁时返回）", example = "3")
+  @JsonInclude(JsonInclude.Include.NON_NULL)
+  private Integer version;
+
   /**
    * 从 Entity 转换为 VO
    * 
@@ -68,6 +76,7 @@ public class ProjectVO {
         .status(entity.getStatus())
         .cover(entity.getCover())
         .createTime(entity.getCreateTime())
+        .version(entity.getVersion())
         .build();
   }
 }
@@ -0,0 +1,82 @@
+package org.example.helloworld.controller;
+
+import org.example.helloworld.storage.LocalStorageBackend;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LocalFileControllerTests {
+
+	@TempDir
+	Path root;
+
+	private LocalFileController controller;
+
+	@BeforeEach
+	void setUp() throws Exception {
+		controller = new LocalFileController();
+		ReflectionTestUtils.setField(controller, "storageBackend",
+				new LocalStorageBackend(root.toString(), "http://localhost:8080"));
+		Path dir = Files.createDirectories(root.resolve("uploads/2026/10/17"));
+		Files.writeString(dir.resolve("a b.txt"), "0123456789", StandardCharsets.UTF_8);
+	}
+
+	@Test
+	void parseRangeSupportsSingleRanges() {
+		assertThat(LocalFileController.parseRange(null, 10)).containsExactly(0, 9);
+		assertThat(LocalFileController.parseRange("bytes=0-4", 10)).containsExactly(0, 4);
+		assertThat(LocalFileController.parseRange("bytes=5-", 10)).containsExactly(5, 9);
+		assertThat(LocalFileController.parseRange("bytes=-3", 10)).containsExactly(7, 9);
+		assertThat(LocalFileController.parseRange("bytes=-30", 10)).containsExactly(0, 9);
+		assertThat(LocalFileController.parseRange("bytes=8-100", 10)).containsExactly(8, 9);
+	}
+
+	@Test
+	void parseRangeFallsBackToWholeFileForUnsupportedHeaders() {
+		assertThat(LocalFileController.parseRange("bytes=0-1,3-4", 10)).containsExactly(0, 9);
+		assertThat(LocalFileController.parseRange("items=0-1", 10)).containsExactly(0, 9);
+		assertThat(LocalFileController.parseRange("bytes=abc", 10)).containsExactly(0, 9);
+		assertThat(LocalFileController.parseRange("bytes=a-b", 10)).containsExactly(0, 9);
+	}
+
+	@Test
+	void parseRangeRejectsUnsatisfiableRanges() {
+		assertThat(LocalFileController.parseRange("bytes=10-", 10)).isNull();
+		assertThat(LocalFileController.parseRange("bytes=5-2", 10)).isNull();
+		assertThat(LocalFileController.parseRange("bytes=-0", 10)).isNull();
+	}
+
+	@Test
+	void serveDecodesRequestPath() throws Exception {
+		MockHttpServletResponse response = serve("/uploads/2026/10/17/a%20b.txt", "bytes=2-4");
+
+		assertThat(response.getStatus()).isEqualTo(206);
+		assertThat(response.getHeader("Content-Range")).isEqualTo("bytes 2-4/10");
+		assertThat(response.getContentAsString()).isEqualTo("234");
+	}
+
+	@Test
+	void serveRejectsEncodedTraversal() throws Exception {
+		assertThat(serve("/uploads/2026/10/17/%2e%2e/%2e%2e/secret.txt", null).getStatus()).isEqualTo(400);
+		assertThat(serve("/uploads/2026/10/17/missing.txt", null).getStatus()).isEqualTo(404);
+	}
+
+	private MockHttpServletResponse serve(String uri, String range) throws Exception {
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", uri);
+		if (range != null) {
+			request.addHeader("Range", range);
+		}
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		controller.serve(request, response);
+		return response;
+	}
+}
@@ -0,0 +1,78 @@
+package org.example.helloworld.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.example.helloworld.entity.OrderEntity;
+import org.example.helloworld.service.OrderService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+class OrderControllerTests {
+
+	private final ObjectMapper objectMapper = new ObjectMapper();
+
+	private OrderService orderService;
+
+	private OrderController controller;
+
+	@BeforeEach
+	void setUp() {
+		orderService = mock(OrderService.class);
+		controller = new OrderController();
+		ReflectionTestUtils.setField(controller, "orderService", orderService);
+		ReflectionTestUtils.setField(controller, "objectMapper", objectMapper);
+	}
+
+	@Test
+	void findAllStreamWritesCompleteArray() throws Exception {
+		doAnswer(invocation -> {
+			Consumer<List<OrderEntity>> consumer = invocation.getArgument(0);
+			consumer.accept(List.of(order(1), order(2)));
+			consumer.accept(List.of(order(3)));
+			return null;
+		}).when(orderService).streamAllOrdersWithUsers(any());
+
+		JsonNode body = stream();
+
+		assertThat(body.get("code").asInt()).isZero();
+		assertThat(body.get("data")).hasSize(3);
+		assertThat(body.has("error")).isFalse();
+	}
+
+	@Test
+	void findAllStreamMarksFailureAfterFirstChunk() throws Exception {
+		doAnswer(invocation -> {
+			Consumer<List<OrderEntity>> consumer = invocation.getArgument(0);
+			consumer.accept(List.of(order(1)));
+			throw new IllegalStateException("cursor closed");
+		}).when(orderService).streamAllOrdersWithUsers(any());
+
+		JsonNode body = stream();
+
+		assertThat(body.get("data")).hasSize(1);
+		assertThat(body.get("error").get("code").asInt()).isEqualTo(50001);
+	}
+
+	private JsonNode stream() throws Exception {
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		controller.findAllStream(response);
+		// 响应必须是完整可解析的 JSON
+		return objectMapper.readTree(response.getContentAsByteArray());
+	}
+
+	private static OrderEntity order(Integer id) {
+		OrderEntity order = new OrderEntity();
+		order.setId(id);
+		return order;
+	}
+}
@@ -0,0 +1,174 @@
+package org.example.helloworld.loader;
+
+import org.example.helloworld.entity.UserEntity;
+import org.example.helloworld.mapper.UserMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class UserBatchLoaderTests {
+
+	private UserMapper userMapper;
+
+	private UserBatchLoader loader;
+
+	@BeforeEach
+	void setUp() {
+		userMapper = mock(UserMapper.class);
+		when(userMapper.selectBatchIds(anyCollection())).thenAnswer(invocation -> {
+			Collection<Integer> ids = invocation.getArgument(0);
+			return ids.stream().filter(id -> id > 0).map(UserBatchLoaderTests::user).toList();
+		});
+		when(userMapper.selectById(any())).thenAnswer(invocation -> user(invocation.getArgument(0)));
+		loader = newLoader(0);
+	}
+
+	@AfterEach
+	void tearDown() {
+		RequestContextHolder.resetRequestAttributes();
+		loader.shutdown();
+	}
+
+	@Test
+	void loadWithoutWindowQueriesDirectly() {
+		assertThat(loader.load(1).getId()).isEqualTo(1);
+		verify(userMapper).selectById(1);
+		verify(userMapper, never()).selectBatchIds(anyCollection());
+	}
+
+	@Test
+	void concurrentLoadsInWindowAreMerged() throws Exception {
+		loader = newLoader(200);
+		CountDownLatch start = new CountDownLatch(1);
+		try (ExecutorService callers = Executors.newFixedThreadPool(5)) {
+			List<CompletableFuture<UserEntity>> results = IntStream.rangeClosed(1, 5)
+					.mapToObj(id -> CompletableFuture.supplyAsync(() -> {
+						await(start);
+						return loader.load(id);
+					}, callers))
+					.toList();
+			start.countDown();
+
+			for (int i = 0; i < results.size(); i++) {
+				assertThat(results.get(i).get().getId()).isEqualTo(i + 1);
+			}
+		}
+		verify(userMapper, times(1)).selectBatchIds(anyCollection());
+	}
+
+	@Test
+	void dispatchErrorFailsWaitersInsteadOfHanging() {
+		loader = newLoader(1);
+		when(userMapper.selectBatchIds(anyCollection())).thenThrow(new StackOverflowError());
+
+		assertTimeoutPreemptively(Duration.ofSeconds(2), () ->
+				assertThatThrownBy(() -> loader.load(1))
+						.isInstanceOf(IllegalStateException.class)
+						.hasCauseInstanceOf(StackOverflowError.class));
+	}
+
+	@Test
+	void loadAfterShutdownDispatchesInline() {
+		loader = newLoader(50);
+		loader.shutdown();
+
+		assertTimeoutPreemptively(Duration.ofSeconds(2), () -> assertThat(loader.load(3).getId()).isEqualTo(3));
+	}
+
+	@Test
+	void loadTimesOutWhenBatchNeverCompletes() {
+		loader = newLoader(60_000);
+		ReflectionTestUtils.setField(loader, "timeoutMillis", 50L);
+
+		assertTimeoutPreemptively(Duration.ofSeconds(2), () ->
+				assertThatThrownBy(() -> loader.load(1)).isInstanceOf(IllegalStateException.class));
+	}
+
+	@Test
+	void loadManyDeduplicatesAndSplitsLargeBatches() {
+		List<Integer> ids = new ArrayList<>(IntStream.rangeClosed(1, 600).boxed().toList());
+		ids.add(1);
+		ids.add(null);
+		ids.add(-1);
+
+		Map<Integer, UserEntity> users = loader.loadMany(ids);
+
+		assertThat(users).hasSize(600).doesNotContainKey(-1);
+		verify(userMapper, times(2)).selectBatchIds(anyCollection());
+	}
+
+	@Test
+	void requestMemoAvoidsRepeatedQueries() {
+		RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+
+		loader.loadMany(List.of(1, 2, -1));
+		assertThat(loader.load(1).getId()).isEqualTo(1);
+		assertThat(loader.load(-1)).isNull();
+		assertThat(loader.loadMany(List.of(2, -1))).containsOnlyKeys(2);
+
+		verify(userMapper, times(1)).selectBatchIds(anyCollection());
+		verify(userMapper, never()).selectById(any());
+	}
+
+	@Test
+	void loadManyWithoutMemoNeverCaches() {
+		RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+
+		loader.loadManyWithoutMemo(List.of(1));
+		loader.loadManyWithoutMemo(List.of(1));
+
+		verify(userMapper, times(2)).selectBatchIds(anyCollection());
+	}
+
+	private UserBatchLoader newLoader(long batchWindowMillis) {
+		if (loader != null) {
+			loader.shutdown();
+		}
+		UserBatchLoader userBatchLoader = new UserBatchLoader();
+		ReflectionTestUtils.setField(userBatchLoader, "userMapper", userMapper);
+		ReflectionTestUtils.setField(userBatchLoader, "batchWindowMillis", batchWindowMillis);
+		ReflectionTestUtils.setField(userBatchLoader, "timeoutMillis", 5000L);
+		return userBatchLoader;
+	}
+
+	private static void await(CountDownLatch latch) {
+		try {
+			latch.await();
+		} catch (InterruptedException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	private static UserEntity user(Integer id) {
+		UserEntity user = new UserEntity();
+		user.setId(id);
+		user.setUsername("user" + id);
+		return user;
+	}
+}
@@ -0,0 +1,134 @@
+package org.example.helloworld.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import org.example.helloworld.dto.RegisterDTO;
+import org.example.helloworld.security.PasswordHasher.VerifyResult;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PasswordHasherTests {
+
+	/** 73 字节 */
+	private static final String TOO_LONG = "a".repeat(PasswordHasher.MAX_PASSWORD_BYTES + 1);
+
+	private ThreadPoolTaskExecutor executor;
+
+	/** 提交到哈希线程池的任务数 */
+	private final AtomicInteger submitted = new AtomicInteger();
+
+	private PasswordHasher hasher;
+
+	@BeforeEach
+	void setUp() {
+		executor = new ThreadPoolTaskExecutor();
+		executor.setCorePoolSize(2);
+		executor.setMaxPoolSize(2);
+		executor.setTaskDecorator(task -> {
+			submitted.incrementAndGet();
+			return task;
+		});
+		executor.initialize();
+		hasher = newHasher(5);
+	}
+
+	@AfterEach
+	void tearDown() {
+		executor.shutdown();
+	}
+
+	@Test
+	void hashAndVerify() {
+		String hash = hasher.hash("secret");
+
+		assertThat(hash).startsWith("$2a$05$");
+		assertThat(hasher.isHashed(hash)).isTrue();
+		assertThat(hasher.verify("secret", hash)).isEqualTo(new VerifyResult(true, null));
+		assertThat(hasher.verify("wrong", hash)).isEqualTo(new VerifyResult(false, null));
+		assertThat(hasher.verify("secret", null)).isEqualTo(new VerifyResult(false, null));
+	}
+
+	@Test
+	void verifyUpgradesHashWhenCostIncreases() {
+		String oldHash = new BCryptPasswordEncoder(4).encode("secret");
+
+		VerifyResult result = hasher.verify("secret", oldHash);
+
+		assertThat(result.matched()).isTrue();
+		assertThat(result.upgradedHash()).startsWith("$2a$05$");
+		assertThat(hasher.verify("secret", result.upgradedHash())).isEqualTo(new VerifyResult(true, null));
+		assertThat(hasher.verify("wrong", oldHash).upgradedHash()).isNull();
+	}
+
+	@Test
+	void verifyMigratesLegacyPlaintext() {
+		VerifyResult result = hasher.verify("secret", "secret");
+
+		assertThat(result.matched()).isTrue();
+		assertThat(hasher.isHashed(result.upgradedHash())).isTrue();
+		assertThat(hasher.verify("secret", result.upgradedHash()).matched()).isTrue();
+		assertThat(hasher.verify("other", "secret")).isEqualTo(new VerifyResult(false, null));
+	}
+
+	@Test
+	void overLongPasswords() {
+		assertThat(PasswordHasher.isTooLong("a".repeat(PasswordHasher.MAX_PASSWORD_BYTES))).isFalse();
+		// 24 个汉字 = 72 字节，25 个超长
+		assertThat(PasswordHasher.isTooLong("密".repeat(24))).isFalse();
+		assertThat(PasswordHasher.isTooLong("密".repeat(25))).isTrue();
+
+		assertThatThrownBy(() -> hasher.hash(TOO_LONG))
+				.isInstanceOf(IllegalArgumentException.class)
+				.hasMessageContaining("72");
+		// 登录时视为不匹配，不抛出 BCrypt 的异常
+		assertThat(hasher.verify(TOO_LONG, hasher.hash("secret"))).isEqualTo(new VerifyResult(false, null));
+		// 旧的超长明文密码仍可登录，只是不升级
+		assertThat(hasher.verify(TOO_LONG, TOO_LONG)).isEqualTo(new VerifyResult(true, null));
+		hasher.verifyDummy(TOO_LONG);
+	}
+
+	@Test
+	void verifyDummyHashesAtConfiguredCost() {
+		int before = submitted.get();
+
+		hasher.verifyDummy("secret");
+
+		assertThat(submitted.get()).isEqualTo(before + 1);
+		assertThat((String) ReflectionTestUtils.getField(hasher, "dummyHash")).startsWith("$2a$05$");
+	}
+
+	@Test
+	void registerRejectsOverLongPassword() {
+		try (var factory = Validation.buildDefaultValidatorFactory()) {
+			Validator validator = factory.getValidator();
+			RegisterDTO dto = new RegisterDTO();
+			dto.setUsername("user");
+			dto.setPassword("密".repeat(24));
+			assertThat(validator.validate(dto)).isEmpty();
+
+			dto.setPassword("密".repeat(25));
+			assertThat(validator.validate(dto))
+					.singleElement()
+					.satisfies(violation -> assertThat(violation.getMessage()).isEqualTo("密码不能超过 72 字节"));
+		}
+	}
+
+	private PasswordHasher newHasher(int cost) {
+		PasswordHasher passwordHasher = new PasswordHasher();
+		ReflectionTestUtils.setField(passwordHasher, "cost", cost);
+		ReflectionTestUtils.setField(passwordHasher, "passwordHashExecutor", executor);
+		ReflectionTestUtils.setField(passwordHasher, "meterRegistry", new SimpleMeterRegistry());
+		passwordHasher.init();
+		return passwordHasher;
+	}
+}
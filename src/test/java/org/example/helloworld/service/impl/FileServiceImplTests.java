@@ -0,0 +1,28 @@
+package org.example.helloworld.service.impl;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FileServiceImplTests {
+
+	private static final String NAME = "^uploads/\\d{4}/\\d{2}/\\d{2}/[0-9a-f]{32}";
+
+	@Test
+	void buildObjectNameKeepsSimpleExtension() {
+		assertThat(FileServiceImpl.buildObjectName("photo.JPG")).matches(NAME + "\\.JPG$");
+		assertThat(FileServiceImpl.buildObjectName("archive.tar.gz")).matches(NAME + "\\.gz$");
+	}
+
+	@Test
+	void buildObjectNameDropsUnsafeExtension() {
+		// 只取最后一个点之后的部分，路径分隔符不会进入对象名
+		assertThat(FileServiceImpl.buildObjectName("a.x/../../../../../uploads/2026/10/17/victim.jpg"))
+				.matches(NAME + "\\.jpg$");
+		assertThat(FileServiceImpl.buildObjectName("a.x/../victim")).matches(NAME + "$");
+		assertThat(FileServiceImpl.buildObjectName("a.j p g")).matches(NAME + "$");
+		assertThat(FileServiceImpl.buildObjectName("a.abcdefghijk")).matches(NAME + "$");
+		assertThat(FileServiceImpl.buildObjectName(".bashrc")).matches(NAME + "$");
+		assertThat(FileServiceImpl.buildObjectName(null)).matches(NAME + "$");
+	}
+}
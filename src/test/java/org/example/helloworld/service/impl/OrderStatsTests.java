@@ -0,0 +1,182 @@
+package org.example.helloworld.service.impl;
+
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import org.example.helloworld.entity.OrderEntity;
+import org.example.helloworld.entity.OrderUserStatsEntity;
+import org.example.helloworld.service.OrderService;
+import org.example.helloworld.service.OrderStatsService;
+import org.example.helloworld.vo.OrderStatsVO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * 订单写入后汇总表的增减（H2 内存库，MySQL 兼容模式）
+ */
+@SpringBootTest(properties = {
+		"spring.datasource.url=jdbc:h2:mem:order_stats;MODE=MySQL;DATABASE_TO_LOWER=TRUE;NON_KEYWORDS=USER;DB_CLOSE_DELAY=-1",
+		"spring.datasource.driver-class-name=org.h2.Driver",
+		"spring.datasource.username=sa",
+		"spring.datasource.password=" })
+class OrderStatsTests {
+
+	@Autowired
+	private OrderService orderService;
+
+	@Autowired
+	private OrderStatsService orderStatsService;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@BeforeEach
+	void createTables() {
+		jdbcTemplate.execute("drop table if exists `order`, order_user_stats, order_daily_stats");
+		jdbcTemplate.execute("create table `order` (id int auto_increment primary key, order_time datetime, "
+				+ "total int, uid int)");
+		jdbcTemplate.execute("create table order_user_stats (uid int primary key, order_count bigint not null default 0, "
+				+ "total_sum bigint not null default 0, min_order_time datetime, max_order_time datetime)");
+		jdbcTemplate.execute("create table order_daily_stats (uid int not null, stat_date date not null, "
+				+ "order_count bigint not null default 0, total_sum bigint not null default 0, primary key (uid, stat_date))");
+	}
+
+	@Test
+	void saveAndUpdateById() {
+		OrderEntity first = order(1, 100, "2025-01-01 10:00:00");
+		OrderEntity second = order(1, 50, "2025-01-03 10:00:00");
+		orderService.save(first);
+		orderService.saveBatch(List.of(second, order(2, 7, "2025-01-01 11:00:00")));
+
+		assertUserStats(1, 2, 150, "2025-01-01 10:00:00", "2025-01-03 10:00:00");
+		assertUserStats(2, 1, 7, "2025-01-01 11:00:00", "2025-01-01 11:00:00");
+		assertThat(daily(1)).containsExactly("2025-01-01:1:100", "2025-01-03:1:50");
+
+		// 修改金额和日期：旧的一天减去，新的一天累加
+		OrderEntity change = new OrderEntity();
+		change.setId(second.getId());
+		change.setTotal(80);
+		change.setOrderTime(time("2025-02-01 09:00:00"));
+		orderService.updateById(change);
+
+		assertUserStats(1, 2, 180, "2025-01-01 10:00:00", "2025-02-01 09:00:00");
+		assertThat(daily(1)).containsExactly("2025-01-01:1:100", "2025-02-01:1:80");
+	}
+
+	@Test
+	void removeVariants() {
+		OrderEntity a = order(1, 10, "2025-01-01 10:00:00");
+		OrderEntity b = order(1, 20, "2025-01-02 10:00:00");
+		OrderEntity c = order(1, 30, "2025-01-03 10:00:00");
+		OrderEntity d = order(1, 40, "2025-01-04 10:00:00");
+		orderService.saveBatch(List.of(a, b, c, d));
+
+		orderService.removeById(d.getId());
+		assertUserStats(1, 3, 60, "2025-01-01 10:00:00", "2025-01-03 10:00:00");
+
+		orderService.removeByIds(List.of(a.getId()));
+		assertUserStats(1, 2, 50, "2025-01-02 10:00:00", "2025-01-03 10:00:00");
+
+		orderService.removeByMap(Map.of("total", 20));
+		assertUserStats(1, 1, 30, "2025-01-03 10:00:00", "2025-01-03 10:00:00");
+
+		orderService.remove(new LambdaQueryWrapper<OrderEntity>().eq(OrderEntity::getUid, 1));
+		assertUserStats(1, 0, 0, null, null);
+		assertThat(daily(1)).isEmpty();
+	}
+
+	@Test
+	void wrapperAndChainUpdates() {
+		OrderEntity a = order(1, 10, "2025-01-01 10:00:00");
+		OrderEntity b = order(1, 20, "2025-01-02 10:00:00");
+		OrderEntity c = order(2, 30, "2025-01-02 10:00:00");
+		orderService.saveBatch(List.of(a, b, c));
+
+		// 把用户 1 的订单改到用户 2 名下
+		orderService.lambdaUpdate().set(OrderEntity::getUid, 2).eq(OrderEntity::getUid, 1).update();
+		assertUserStats(1, 0, 0, null, null);
+		assertUserStats(2, 3, 60, "2025-01-01 10:00:00", "2025-01-02 10:00:00");
+		assertThat(daily(2)).containsExactly("2025-01-01:1:10", "2025-01-02:2:50");
+
+		orderService.update().set("total", 5).eq("id", c.getId()).update();
+		assertUserStats(2, 3, 35, "2025-01-01 10:00:00", "2025-01-02 10:00:00");
+
+		orderService.lambdaUpdate().eq(OrderEntity::getTotal, 5).remove();
+		assertUserStats(2, 2, 30, "2025-01-01 10:00:00", "2025-01-02 10:00:00");
+	}
+
+	@Test
+	void saveOrUpdateAndUpdateBatchById() {
+		OrderEntity a = order(1, 10, "2025-01-01 10:00:00");
+		orderService.saveOrUpdate(a);
+		assertUserStats(1, 1, 10, "2025-01-01 10:00:00", "2025-01-01 10:00:00");
+
+		a.setTotal(15);
+		orderService.saveOrUpdate(a);
+		OrderEntity b = order(1, 1, "2025-01-05 10:00:00");
+		orderService.saveOrUpdateBatch(List.of(b));
+		assertUserStats(1, 2, 16, "2025-01-01 10:00:00", "2025-01-05 10:00:00");
+
+		a.setTotal(100);
+		b.setTotal(200);
+		orderService.updateBatchById(List.of(a, b));
+		assertUserStats(1, 2, 300, "2025-01-01 10:00:00", "2025-01-05 10:00:00");
+		assertThat(daily(1)).containsExactly("2025-01-01:1:100", "2025-01-05:1:200");
+	}
+
+	@Test
+	void seriesByDayAndMonth() {
+		orderService.saveBatch(List.of(order(1, 10, "2025-01-01 10:00:00"), order(1, 20, "2025-01-15 10:00:00"),
+				order(1, 30, "2025-03-01 10:00:00")));
+
+		OrderStatsVO byMonth = orderStatsService.getUserStats(1, "month", LocalDate.of(2025, 1, 1), LocalDate.of(2025, 12, 31));
+		assertThat(byMonth.getSeries()).extracting(bucket -> bucket.getBucket() + ":" + bucket.getOrderCount() + ":" + bucket.getTotalSum())
+				.containsExactly("2025-01:2:30", "2025-03:1:30");
+
+		OrderStatsVO byDay = orderStatsService.getUserStats(1, "day", LocalDate.of(2025, 1, 1), LocalDate.of(2025, 1, 31));
+		assertThat(byDay.getSeries()).hasSize(2);
+
+		assertThatThrownBy(() -> orderStatsService.getUserStats(1, "day", LocalDate.of(2024, 1, 1), LocalDate.of(2025, 1, 1)))
+				.isInstanceOf(IllegalArgumentException.class);
+		assertThatThrownBy(() -> orderStatsService.getUserStats(1, "month", LocalDate.of(2022, 1, 1), LocalDate.of(2025, 1, 1)))
+				.isInstanceOf(IllegalArgumentException.class);
+		assertThat(orderStatsService.getUserStats(1, "month", LocalDate.of(2022, 2, 1), LocalDate.of(2025, 1, 31)).getSeries())
+				.extracting(OrderStatsVO.Bucket::getBucket).containsExactly("2025-01");
+	}
+
+	private void assertUserStats(int uid, long count, long sum, String min, String max) {
+		OrderUserStatsEntity stats = orderStatsService.getById(uid);
+		assertThat(stats.getOrderCount()).isEqualTo(count);
+		assertThat(stats.getTotalSum()).isEqualTo(sum);
+		assertThat(stats.getMinOrderTime()).isEqualTo(min != null ? time(min) : null);
+		assertThat(stats.getMaxOrderTime()).isEqualTo(max != null ? time(max) : null);
+	}
+
+	/** 订单数不为 0 的天：日期:订单数:总额 */
+	private List<String> daily(int uid) {
+		return jdbcTemplate.queryForList("select concat(stat_date, ':', order_count, ':', total_sum) from order_daily_stats "
+				+ "where uid = ? and order_count > 0 order by stat_date", String.class, uid);
+	}
+
+	private static OrderEntity order(int uid, int total, String orderTime) {
+		OrderEntity order = new OrderEntity();
+		order.setUid(uid);
+		order.setTotal(total);
+		order.setOrderTime(time(orderTime));
+		return order;
+	}
+
+	private static Date time(String value) {
+		return Timestamp.valueOf(value);
+	}
+}
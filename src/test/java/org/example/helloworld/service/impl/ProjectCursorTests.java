@@ -0,0 +1,117 @@
+package org.example.helloworld.service.impl;
+
+import org.example.helloworld.dto.ProjectListDTO;
+import org.example.helloworld.entity.ProjectEntity;
+import org.example.helloworld.service.ProjectService;
+import org.example.helloworld.utils.PageCursor;
+import org.example.helloworld.vo.CursorPageVO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * 游标分页逐页翻完后不重不漏（H2 内存库，MySQL 兼容模式）
+ */
+@SpringBootTest(properties = {
+		"spring.datasource.url=jdbc:h2:mem:project_cursor;MODE=MySQL;DATABASE_TO_LOWER=TRUE;NON_KEYWORDS=USER;DB_CLOSE_DELAY=-1",
+		"spring.datasource.driver-class-name=org.h2.Driver",
+		"spring.datasource.username=sa",
+		"spring.datasource.password=" })
+class ProjectCursorTests {
+
+	@Autowired
+	private ProjectService projectService;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@BeforeEach
+	void createTable() {
+		jdbcTemplate.execute("drop table if exists project");
+		jdbcTemplate.execute("create table project (id int auto_increment primary key, name varchar(64), "
+				+ "status varchar(16), cover varchar(255), create_time datetime(6), version int not null default 0)");
+		// 相同的 create_time、NULL、带小数秒和分隔符的名称
+		insert(1, "a:1", "2026-01-01 10:00:00");
+		insert(2, "a:1", "2026-01-01 10:00:00");
+		insert(3, "b", null);
+		insert(4, "c", "2026-01-02 10:00:00.5");
+		insert(5, "d", null);
+		insert(6, "e", "2026-01-01 10:00:00");
+		insert(7, "f", "2026-01-03 00:00:00");
+	}
+
+	@Test
+	void createTimeAscendingPutsNullsFirst() {
+		assertThat(walk("create_time", "asc", 2)).containsExactly(3, 5, 1, 2, 6, 4, 7);
+	}
+
+	@Test
+	void createTimeDescendingPutsNullsLast() {
+		assertThat(walk("create_time", "desc", 2)).containsExactly(7, 4, 6, 2, 1, 5, 3);
+	}
+
+	@Test
+	void nameWithSeparatorAndTies() {
+		assertThat(walk("name", "asc", 1)).containsExactly(1, 2, 3, 4, 5, 6, 7);
+		assertThat(walk("name", "desc", 3)).containsExactly(7, 6, 5, 4, 3, 2, 1);
+	}
+
+	@Test
+	void idSort() {
+		assertThat(walk("id", "desc", 4)).containsExactly(7, 6, 5, 4, 3, 2, 1);
+	}
+
+	@Test
+	void rejectsCursorFromAnotherSort() {
+		ProjectListDTO dto = dto("name", "asc", 2);
+		dto.setCursor(new PageCursor("create_time", true, 1, "").encode());
+
+		assertThatThrownBy(() -> projectService.projectCursorList(dto))
+				.isInstanceOf(IllegalArgumentException.class);
+	}
+
+	@Test
+	void rejectsUnparsableCreateTime() {
+		ProjectListDTO dto = dto("create_time", "asc", 2);
+		dto.setCursor(new PageCursor("create_time", true, 1, "yesterday").encode());
+
+		assertThatThrownBy(() -> projectService.projectCursorList(dto))
+				.isInstanceOf(IllegalArgumentException.class).hasMessage("无效的分页游标");
+	}
+
+	private List<Integer> walk(String sortField, String sortOrder, int pageSize) {
+		List<Integer> ids = new ArrayList<>();
+		String cursor = null;
+		do {
+			ProjectListDTO dto = dto(sortField, sortOrder, pageSize);
+			dto.setCursor(cursor);
+			CursorPageVO<ProjectEntity> page = projectService.projectCursorList(dto);
+			page.getRecords().forEach(project -> ids.add(project.getId()));
+			cursor = page.getNextCursor();
+			assertThat(ids).hasSizeLessThanOrEqualTo(7);
+		} while (cursor != null);
+		return ids;
+	}
+
+	private static ProjectListDTO dto(String sortField, String sortOrder, int pageSize) {
+		ProjectListDTO dto = new ProjectListDTO();
+		dto.setPageMode("cursor");
+		dto.setSortField(sortField);
+		dto.setSortOrder(sortOrder);
+		dto.setPageSize(pageSize);
+		return dto;
+	}
+
+	private void insert(int id, String name, String createTime) {
+		jdbcTemplate.update("insert into project (id, name, status, create_time) values (?, ?, 'active', ?)",
+				id, name, createTime);
+	}
+}
@@ -0,0 +1,140 @@
+package org.example.helloworld.service.impl;
+
+import com.baomidou.mybatisplus.core.MybatisConfiguration;
+import com.baomidou.mybatisplus.core.metadata.TableInfoHelper;
+import org.apache.ibatis.builder.MapperBuilderAssistant;
+import org.example.helloworld.entity.UserEntity;
+import org.example.helloworld.exception.BusinessException;
+import org.example.helloworld.mapper.UserMapper;
+import org.example.helloworld.security.PasswordHasher;
+import org.example.helloworld.security.PasswordHasher.VerifyResult;
+import org.example.helloworld.utils.BusinessCode;
+import org.example.helloworld.utils.JwtUtil;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class UserServiceImplTests {
+
+	private UserMapper userMapper;
+
+	private PasswordHasher passwordHasher;
+
+	private UserServiceImpl userService;
+
+	@BeforeAll
+	static void initTableInfo() {
+		// LambdaQueryWrapper / lambdaUpdate 需要实体的表信息
+		TableInfoHelper.initTableInfo(new MapperBuilderAssistant(new MybatisConfiguration(), ""), UserEntity.class);
+	}
+
+	@BeforeEach
+	void setUp() {
+		userMapper = mock(UserMapper.class);
+		passwordHasher = mock(PasswordHasher.class);
+		userService = new UserServiceImpl();
+		ReflectionTestUtils.setField(userService, "baseMapper", userMapper);
+		ReflectionTestUtils.setField(userService, "passwordHasher", passwordHasher);
+		ReflectionTestUtils.setField(userService, "cacheEnabled", true);
+		ReflectionTestUtils.setField(userService, "cacheMaxSize", 100L);
+		ReflectionTestUtils.setField(userService, "cacheTtlSeconds", 300L);
+		ReflectionTestUtils.setField(userService, "negativeTtlSeconds", 30L);
+		userService.initCaches();
+	}
+
+	@Test
+	void loginReturnsTokenForCorrectPassword() {
+		when(userMapper.selectOne(any())).thenReturn(user(7, "alice", "hash"));
+		when(passwordHasher.verify("secret", "hash")).thenReturn(new VerifyResult(true, null));
+
+		String token = userService.login("alice", "secret");
+
+		assertThat(JwtUtil.getUserIdFromToken(token)).isEqualTo(7);
+		verify(passwordHasher, never()).verifyDummy(anyString());
+	}
+
+	@Test
+	void loginWithWrongPasswordFails() {
+		when(userMapper.selectOne(any())).thenReturn(user(7, "alice", "hash"));
+		when(passwordHasher.verify("wrong", "hash")).thenReturn(new VerifyResult(false, null));
+
+		assertLoginFailed("alice", "wrong");
+		verify(passwordHasher, never()).verifyDummy(anyString());
+	}
+
+	@Test
+	void unknownUserRunsDummyVerifyAndIsNegativelyCached() {
+		assertLoginFailed("ghost", "secret");
+		assertLoginFailed("ghost", "secret");
+
+		// 第二次命中"不存在"缓存，不查询数据库，但仍计算一次 BCrypt
+		verify(userMapper, times(1)).selectOne(any());
+		verify(passwordHasher, times(2)).verifyDummy("secret");
+	}
+
+	@Test
+	void registerClearsNegativeCache() {
+		assertLoginFailed("bob", "secret");
+		when(passwordHasher.hash("secret")).thenReturn("hash");
+		when(userMapper.insert(any(UserEntity.class))).thenReturn(1);
+
+		assertThat(userService.register(user(null, "bob", "secret"))).isTrue();
+
+		when(userMapper.selectOne(any())).thenReturn(user(8, "bob", "hash"));
+		when(passwordHasher.verify("secret", "hash")).thenReturn(new VerifyResult(true, null));
+		assertThat(userService.login("bob", "secret")).isNotBlank();
+	}
+
+	@Test
+	void registrationDuringLookupDropsNegativeEntry() {
+		// 查询返回 null 时另一个线程正好完成注册
+		when(passwordHasher.hash("secret")).thenReturn("hash");
+		when(userMapper.insert(any(UserEntity.class))).thenReturn(1);
+		when(userMapper.selectOne(any())).thenAnswer(invocation -> {
+			userService.register(user(null, "carol", "secret"));
+			return null;
+		});
+		assertLoginFailed("carol", "secret");
+
+		doReturn(user(9, "carol", "hash")).when(userMapper).selectOne(any());
+		when(passwordHasher.verify("secret", "hash")).thenReturn(new VerifyResult(true, null));
+		assertThat(userService.login("carol", "secret")).isNotBlank();
+	}
+
+	@Test
+	void loginWritesBackUpgradedHash() {
+		when(userMapper.selectOne(any())).thenReturn(user(7, "alice", "plain"));
+		when(passwordHasher.verify("plain", "plain")).thenReturn(new VerifyResult(true, "$2a$10$upgraded"));
+
+		userService.login("alice", "plain");
+
+		verify(userMapper).update(eq(null), any());
+	}
+
+	private void assertLoginFailed(String username, String password) {
+		assertThatThrownBy(() -> userService.login(username, password))
+				.isInstanceOfSatisfying(BusinessException.class,
+						e -> assertThat(e.getBusinessCode()).isEqualTo(BusinessCode.LOGIN_FAILED));
+	}
+
+	private static UserEntity user(Integer id, String username, String password) {
+		UserEntity user = new UserEntity();
+		user.setId(id);
+		user.setUsername(username);
+		user.setPassword(password);
+		return user;
+	}
+}
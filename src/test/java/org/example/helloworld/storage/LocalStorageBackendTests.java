@@ -0,0 +1,73 @@
+package org.example.helloworld.storage;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class LocalStorageBackendTests {
+
+	@TempDir
+	Path root;
+
+	private LocalStorageBackend backend;
+
+	@BeforeEach
+	void setUp() throws Exception {
+		backend = new LocalStorageBackend(root.toString(), "http://localhost:8080/");
+	}
+
+	@Test
+	void resolveAcceptsGeneratedObjectNames() {
+		assertThat(backend.resolve("uploads/2026/10/17/abc.jpg"))
+				.isEqualTo(root.toAbsolutePath().normalize().resolve("uploads/2026/10/17/abc.jpg"));
+	}
+
+	@Test
+	void resolveRejectsTraversalAndForeignPaths() {
+		for (String objectName : new String[] {
+				"uploads/2026/10/17/a.x/../../../../../uploads/2026/10/17/victim.jpg",
+				"uploads/2026/10/17/../victim.jpg",
+				"uploads/2026/10/17/sub/victim.jpg",
+				"uploads/2026/10/17/a\\b.jpg",
+				"config/application.yaml",
+				"/etc/passwd" }) {
+			assertThatThrownBy(() -> backend.resolve(objectName)).isInstanceOf(IllegalArgumentException.class);
+		}
+	}
+
+	@Test
+	void writeStoresContentAndNeverReplacesExistingFile() throws Exception {
+		String objectName = "uploads/2026/10/17/abc.txt";
+		long size = backend.putStream(objectName, stream("first"), 100);
+		assertThat(size).isEqualTo(5);
+
+		assertThatThrownBy(() -> backend.putStream(objectName, stream("second"), 100))
+				.isInstanceOf(FileAlreadyExistsException.class);
+		assertThat(Files.readString(backend.resolve(objectName))).isEqualTo("first");
+		// 临时文件已清理
+		try (var files = Files.list(backend.resolve(objectName).getParent())) {
+			assertThat(files).hasSize(1);
+		}
+	}
+
+	@Test
+	void writeRejectsOversizedContent() {
+		String objectName = "uploads/2026/10/17/big.bin";
+		assertThatThrownBy(() -> backend.putStream(objectName, stream("0123456789"), 5))
+				.isInstanceOf(IllegalArgumentException.class);
+		assertThat(Files.exists(backend.resolve(objectName))).isFalse();
+	}
+
+	private static ByteArrayInputStream stream(String content) {
+		return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+	}
+}
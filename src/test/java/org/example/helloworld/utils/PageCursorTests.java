@@ -0,0 +1,53 @@
+package org.example.helloworld.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PageCursorTests {
+
+	@Test
+	void roundTrip() {
+		PageCursor cursor = PageCursor.decode(new PageCursor("create_time", false, 42, "2026-10-17T10:00:01.5").encode());
+
+		assertThat(cursor.getSortField()).isEqualTo("create_time");
+		assertThat(cursor.isAsc()).isFalse();
+		assertThat(cursor.getLastId()).isEqualTo(42);
+		assertThat(cursor.getLastValue()).isEqualTo("2026-10-17T10:00:01.5");
+	}
+
+	@Test
+	void lastValueMayContainSeparatorOrBeEmpty() {
+		assertThat(PageCursor.decode(new PageCursor("name", true, 1, "a:b:c").encode()).getLastValue())
+				.isEqualTo("a:b:c");
+		assertThat(PageCursor.decode(new PageCursor("create_time", true, 1, "").encode()).getLastValue())
+				.isEmpty();
+		assertThat(PageCursor.decode(new PageCursor("name", true, 1, "项目 一").encode()).getLastValue())
+				.isEqualTo("项目 一");
+	}
+
+	@Test
+	void encodedCursorIsUrlSafe() {
+		String encoded = new PageCursor("name", true, 1, "??>>~~").encode();
+
+		assertThat(encoded).matches("[A-Za-z0-9_-]+");
+	}
+
+	@Test
+	void rejectsMalformedCursor() {
+		assertThatThrownBy(() -> PageCursor.decode("not base64!"))
+				.isInstanceOf(IllegalArgumentException.class).hasMessage("无效的分页游标");
+		assertThatThrownBy(() -> PageCursor.decode(encode("name:asc:1")))
+				.isInstanceOf(IllegalArgumentException.class).hasMessage("无效的分页游标");
+		assertThatThrownBy(() -> PageCursor.decode(encode("name:asc:x:a")))
+				.isInstanceOf(IllegalArgumentException.class).hasMessage("无效的分页游标");
+	}
+
+	private static String encode(String raw) {
+		return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+	}
+}